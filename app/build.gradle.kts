@@ -11,6 +11,8 @@ plugins {
     id("io.spring.dependency-management") version "1.1.0"
     id("java")
     application
+    // JMH benchmarks live in src/jmh/java and run with ./gradlew jmh
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -31,7 +33,14 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     runtimeOnly("org.postgresql:postgresql:42.7.2")
     val implementation = implementation("org.apache.poi:poi-ooxml:5.2.3")
+    // Faster Jackson property access for the response records (version from the Spring Boot BOM)
+    implementation("com.fasterxml.jackson.module:jackson-module-blackbird")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    // @Timed support (TimedAspect) and the Prometheus scrape endpoint
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    // Mock requests for calling controller methods from the JMH benchmarks
+    jmhImplementation("org.springframework:spring-test")
 
 }
 
@@ -50,3 +59,36 @@ application {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+tasks.test {
+    useJUnitPlatform { excludeTags("load") }
+}
+
+// Concurrent lookup load test comparing platform and virtual request threads (needs the test PostgreSQL)
+val loadTest by tasks.registering(Test::class) {
+    description = "Runs the @Tag(\"load\") tests."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform { includeTags("load") }
+    systemProperty("loadTest.concurrency", project.findProperty("loadTest.concurrency") ?: "2000")
+    systemProperty("loadTest.requestsPerClient", project.findProperty("loadTest.requestsPerClient") ?: "10")
+    // Prints a stack trace whenever a virtual thread blocks while pinned to its carrier
+    jvmArgs("-Djdk.tracePinnedThreads=short")
+    testLogging { showStandardStreams = true }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    // Allocation rate (gc.alloc.rate.norm) next to throughput
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    // e.g. ./gradlew jmh -PjmhIncludes=LookupBenchmark -PregistrySize=50000
+    (project.findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+    (project.findProperty("registrySize") as String?)?.let { benchmarkParameters.put("registrySize", listProperty(it)) }
+}
+
+fun listProperty(value: String) = objects.listProperty(String::class.java).value(value.split(","))
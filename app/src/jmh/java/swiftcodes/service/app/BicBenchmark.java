@@ -0,0 +1,33 @@
+package swiftcodes.service.app;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+//Validating and normalizing a requested code: the Bic codec against the String operations it replaced
+//(toUpperCase, endsWith("XXX"), substring(0, 8)). Run with -prof gc to compare allocations per call.
+//e.g. ./gradlew jmh -PjmhIncludes=BicBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BicBenchmark {
+
+    @Param({"BREXPLPWXXX", "brexplpw001", "BR3XPLPWXXX"})
+    public String code;
+
+    @Benchmark
+    public void codec(Blackhole blackhole) {
+        long bic = Bic.encode(code);
+        blackhole.consume(bic != Bic.INVALID && Bic.isHeadquarter(bic));
+        blackhole.consume(Bic.canonical(code));
+    }
+
+    @Benchmark
+    public void strings(Blackhole blackhole) {
+        String upper = code.toUpperCase();
+        blackhole.consume(upper.endsWith("XXX"));
+        blackhole.consume(upper.substring(0, 8));
+        blackhole.consume(upper);
+    }
+}
@@ -0,0 +1,38 @@
+package swiftcodes.service.app;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+//Parsing cost of the import (no database): the streaming reader over a synthetic workbook.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExcelImportBenchmark {
+
+    @Param({"10000"})
+    public int registrySize;
+
+    private Path workbook;
+    private ExcelStreamingReader reader;
+
+    @Setup
+    public void setup() throws Exception {
+        workbook = new SyntheticRegistry(registrySize).writeWorkbook();
+        reader = new ExcelStreamingReader();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(workbook);
+    }
+
+    @Benchmark
+    public int streamingParse(Blackhole blackhole) throws Exception {
+        return reader.read(new FileSystemResource(workbook), blackhole::consume);
+    }
+}
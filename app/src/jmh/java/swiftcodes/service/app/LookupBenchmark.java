@@ -0,0 +1,84 @@
+package swiftcodes.service.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Web layer hot paths of APIController against a synthetic registry: map building, APIDTO construction
+//and Jackson serialization with the compact output of application.properties.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LookupBenchmark {
+
+    @Param({"10000"})
+    public int registrySize;
+
+    //false measures the cold path: map building and serialization on every call
+    @Param({"true", "false"})
+    public boolean responseCache;
+
+    private APIController controller;
+    private ObjectMapper objectMapper;
+    private List<String> headquarters;
+    private List<String> branches;
+    private String country;
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+        SyntheticRegistry registry = new SyntheticRegistry(registrySize);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        controller = new APIController();
+        SyntheticRegistry.inject(controller, "swiftCodeService", registry.service());
+        SyntheticRegistry.inject(controller, "objectMapper", objectMapper);
+        SyntheticRegistry.inject(controller, "maxPageSize", 1000);
+        SyntheticRegistry.inject(controller, "countryVersions", new CountryVersions());
+        SyntheticRegistry.inject(controller, "swiftCodeResponseCache",
+                new SwiftCodeResponseCache(responseCache ? registrySize : 0));
+        headquarters = registry.headquarters();
+        branches = registry.branches();
+        country = registry.largestCountry();
+    }
+
+    //Single lookups return the serialized body
+    @Benchmark
+    public byte[] singleBranchLookup() {
+        return controller.getSwiftCode(branches.get(nextIndex(branches.size()))).getBody();
+    }
+
+    @Benchmark
+    public byte[] headquarterWithBranchesLookup() {
+        return controller.getSwiftCode(headquarters.get(nextIndex(headquarters.size()))).getBody();
+    }
+
+    @Benchmark
+    public Object countryListing() {
+        //No validators in the request, so the conditional check always falls through to a full response
+        return controller.getSwiftCodesByCountry(country, null, null,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse())).getBody();
+    }
+
+    @Benchmark
+    public byte[] countryListingSerialized() throws Exception {
+        return objectMapper.writeValueAsBytes(countryListing());
+    }
+
+    //APIDTO runs checkEmpty/trim on every field
+    @Benchmark
+    public void apiDtoConstruction(Blackhole blackhole) {
+        blackhole.consume(new APIDTO("UL. TESTOWA 1, POLAND", "SYNTHETIC BANK", "PL", "POLAND", true, "AAAAPLPWXXX"));
+    }
+
+    private int nextIndex(int bound) {
+        next = next + 1 < bound ? next + 1 : 0;
+        return next;
+    }
+}
@@ -0,0 +1,104 @@
+package swiftcodes.service.app;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Import and lookup paths with the default settings and with the prod profile, against a real PostgreSQL
+//(DB_URL, DB_USERNAME, DB_PASSWORD as for the application). Lookup caches, the in-memory store and the registry
+//snapshot are disabled, so every lookup hits the database and every import parses the workbook.
+//e.g. ./gradlew jmh -PjmhIncludes=ProfileBenchmark
+@State(Scope.Benchmark)
+@Fork(1)
+public class ProfileBenchmark {
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    @Param({"10000"})
+    public int registrySize;
+
+    private ConfigurableApplicationContext context;
+    private ExcelLoaderService excelLoaderService;
+    private SwiftCodeService swiftCodeService;
+    private JdbcTemplate jdbcTemplate;
+    private Path workbook;
+    private List<String> codes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        SyntheticRegistry registry = new SyntheticRegistry(registrySize);
+        workbook = registry.writeWorkbook();
+        codes = registry.codes().stream().map(SwiftCode::getSwiftCode).toList();
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SwiftCodesApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("swift.import.sources=file:" + workbook,
+                        "swift.import.skip-unchanged=false",
+                        //Every invocation parses the workbook, never a snapshot compiled by an earlier one
+                        "swift.snapshot.path=",
+                        "swift.import.watch=false",
+                        "swift.registry.in-memory=false",
+                        "swift.cache.max-size=0",
+                        "swift.cache.country-max-size=0",
+                        "swift.response-cache.max-size=0");
+        if (!"default".equals(profile)) {
+            builder.profiles(profile);
+        }
+        context = builder.run();
+        excelLoaderService = context.getBean(ExcelLoaderService.class);
+        swiftCodeService = context.getBean(SwiftCodeService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        Files.deleteIfExists(workbook);
+    }
+
+    //Every import starts from empty tables, so all rows are inserted and the change log does not grow
+    //by registrySize entries per invocation
+    @State(Scope.Thread)
+    public static class EmptyRegistry {
+        @Setup(Level.Invocation)
+        public void empty(ProfileBenchmark benchmark) {
+            benchmark.jdbcTemplate.update("TRUNCATE swift_codes, swift_code_changes");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FilledRegistry {
+        @Setup(Level.Iteration)
+        public void fill(ProfileBenchmark benchmark) {
+            if (benchmark.jdbcTemplate.queryForObject("SELECT count(*) FROM swift_codes", Integer.class) == 0) {
+                benchmark.excelLoaderService.loadExcelData();
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public void importRegistry(EmptyRegistry registry) {
+        excelLoaderService.loadExcelData();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SwiftCode lookup(FilledRegistry registry) {
+        next = next + 1 < codes.size() ? next + 1 : 0;
+        return swiftCodeService.getSwiftCodeDetails(codes.get(next));
+    }
+}
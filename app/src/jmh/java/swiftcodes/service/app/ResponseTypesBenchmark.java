@@ -0,0 +1,97 @@
+package swiftcodes.service.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Building and serializing the responses of Endpoint 1 and 2: the record types (SwiftCodeDetails, CountryListing) against
+//the LinkedHashMap responses they replaced, each with and without the Blackbird module.
+//Both produce the same JSON; run with -prof gc (the default here) to compare gc.alloc.rate.norm per response.
+//e.g. ./gradlew jmh -PjmhIncludes=ResponseTypesBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseTypesBenchmark {
+
+    @Param({"10000"})
+    public int registrySize;
+
+    @Param({"record", "map"})
+    public String responses;
+
+    @Param({"true", "false"})
+    public boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private SwiftCode headquarter;
+    private List<SwiftCodeView> branches;
+    private SwiftCode branch;
+    private String country;
+    private List<SwiftCodeView> countryCodes;
+
+    @Setup
+    public void setup() {
+        SyntheticRegistry registry = new SyntheticRegistry(registrySize);
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        SwiftCodeService service = registry.service();
+        headquarter = service.getSwiftCodeDetails(registry.headquarters().getFirst());
+        branches = service.getBranchesForHeadquarter(headquarter.getSwiftCode());
+        branch = service.getSwiftCodeDetails(registry.branches().getFirst());
+        country = registry.largestCountry();
+        countryCodes = service.getSwiftCodesByCountry(country);
+    }
+
+    @Benchmark
+    public byte[] headquarterWithBranches() throws Exception {
+        return objectMapper.writeValueAsBytes(responses.equals("record")
+                ? SwiftCodeDetails.of(headquarter, true, branches)
+                : detailsMap(headquarter, true, branches));
+    }
+
+    @Benchmark
+    public byte[] branch() throws Exception {
+        return objectMapper.writeValueAsBytes(responses.equals("record")
+                ? SwiftCodeDetails.of(branch, false, null)
+                : detailsMap(branch, false, null));
+    }
+
+    @Benchmark
+    public byte[] countryListing() throws Exception {
+        List<APIDTO> entries = countryCodes.stream().map(APIDTO::entryOf).toList();
+        if (responses.equals("record")) {
+            return objectMapper.writeValueAsBytes(new CountryListing.Full(country, countryCodes.getFirst().countryName(), entries));
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("countryISO2", country);
+        response.put("countryName", countryCodes.getFirst().countryName());
+        response.put("swiftCodes", entries);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    //The former APIController.detailsResponse
+    private static Map<String, Object> detailsMap(SwiftCode code, boolean headquarter, List<SwiftCodeView> branches) {
+        APIDTO dto = new APIDTO(code.getAddress(), code.getBankName(), code.getCountryISO2(), code.getCountryName(),
+                headquarter, code.getSwiftCode());
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("address", dto.getAddress());
+        response.put("bankName", dto.getBankName());
+        response.put("countryISO2", dto.getCountryISO2());
+        response.put("countryName", dto.getCountryName());
+        response.put("isHeadquarter", dto.isHeadquarter());
+        response.put("swiftCode", dto.getSwiftCode());
+        if (branches != null) {
+            response.put("branches", branches.stream().map(APIDTO::entryOf).toList());
+        }
+        return response;
+    }
+}
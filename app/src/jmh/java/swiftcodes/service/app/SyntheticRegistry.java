@@ -0,0 +1,146 @@
+package swiftcodes.service.app;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Deterministic registry of a given size for benchmarks: every HQ gets BRANCHES_PER_HQ branches.
+public final class SyntheticRegistry {
+
+    public static final int BRANCHES_PER_HQ = 9;
+    private static final String[][] COUNTRIES = {
+            {"PL", "POLAND"}, {"DE", "GERMANY"}, {"FR", "FRANCE"}, {"US", "UNITED STATES"}, {"GB", "UNITED KINGDOM"},
+            {"CL", "CHILE"}, {"BG", "BULGARIA"}, {"AL", "ALBANIA"}, {"UY", "URUGUAY"}, {"MC", "MONACO"}
+    };
+
+    private final List<SwiftCode> codes = new ArrayList<>();
+    private final List<String> headquarters = new ArrayList<>();
+    private final List<String> branches = new ArrayList<>();
+
+    public SyntheticRegistry(int size) {
+        for (int i = 0; codes.size() < size; i++) {
+            String[] country = COUNTRIES[i % COUNTRIES.length];
+            String prefix = bankCode(i) + country[0] + "PW";
+            codes.add(code(prefix + "XXX", country, true));
+            headquarters.add(prefix + "XXX");
+            for (int b = 1; b <= BRANCHES_PER_HQ && codes.size() < size; b++) {
+                String branch = prefix + String.format("%03d", b);
+                codes.add(code(branch, country, false));
+                branches.add(branch);
+            }
+        }
+    }
+
+    public List<SwiftCode> codes() {
+        return codes;
+    }
+
+    public List<String> headquarters() {
+        return headquarters;
+    }
+
+    public List<String> branches() {
+        return branches;
+    }
+
+    public String largestCountry() {
+        return COUNTRIES[0][0];
+    }
+
+    //SwiftCodeService stand-in answering from maps, so benchmarks measure the web layer and not PostgreSQL.
+    public SwiftCodeService service() {
+        Map<String, SwiftCode> byCode = new HashMap<>();
+        Map<String, List<SwiftCodeView>> byCountry = new HashMap<>();
+        Map<String, List<SwiftCodeView>> byPrefix = new HashMap<>();
+        for (SwiftCode code : codes) {
+            byCode.put(code.getSwiftCode(), code);
+            byCountry.computeIfAbsent(code.getCountryISO2(), k -> new ArrayList<>()).add(SwiftCodeView.of(code));
+            if (!code.getIsHeadquarter()) {
+                byPrefix.computeIfAbsent(code.getInstitutionCode(), k -> new ArrayList<>()).add(SwiftCodeView.of(code));
+            }
+        }
+        //Every method the controller calls on a lookup must be overridden, the stand-in has no Bloom filter or cache
+        return new SwiftCodeService() {
+            @Override
+            public boolean mightExist(String swiftCode) {
+                return byCode.containsKey(Bic.normalize(swiftCode));
+            }
+
+            @Override
+            public SwiftCode getSwiftCodeDetails(String swiftCode) {
+                return byCode.get(Bic.normalize(swiftCode));
+            }
+
+            @Override
+            public List<SwiftCodeView> getSwiftCodesByCountry(String countryISO2) {
+                return byCountry.getOrDefault(countryISO2.toUpperCase(), List.of());
+            }
+
+            @Override
+            public List<SwiftCodeView> getBranchesForHeadquarter(String headquarterSwiftCode) {
+                return byPrefix.getOrDefault(headquarterSwiftCode.substring(0, 8), List.of());
+            }
+        };
+    }
+
+    //Writes the registry in the SWIFT_CODES.xlsx column layout to a temporary file.
+    public Path writeWorkbook() throws Exception {
+        Path file = Files.createTempFile("swift-codes-", ".xlsx");
+        file.toFile().deleteOnExit();
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            writeRow(sheet.createRow(0), "COUNTRY ISO2 CODE", "SWIFT CODE", "CODE TYPE", "NAME", "ADDRESS",
+                    "TOWN NAME", "COUNTRY NAME", "TIME ZONE");
+            int rowNum = 1;
+            for (SwiftCode code : codes) {
+                writeRow(sheet.createRow(rowNum++), code.getCountryISO2(), code.getSwiftCode(), "BIC11",
+                        code.getBankName(), code.getAddress(), "TOWN", code.getCountryName(), "Europe/Warsaw");
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        return file;
+    }
+
+    //Sets an @Autowired field the way Spring would, for wiring beans outside a context.
+    public static void inject(Object target, String fieldName, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static SwiftCode code(String swiftCode, String[] country, boolean headquarter) {
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode(swiftCode);
+        code.setBankName("SYNTHETIC BANK " + swiftCode.substring(0, 4));
+        code.setAddress("UL. TESTOWA " + Math.floorMod(swiftCode.hashCode(), 100) + ", " + country[1]);
+        code.setCountryISO2(country[0]);
+        code.setCountryName(country[1]);
+        code.setIsHeadquarter(headquarter);
+        return code;
+    }
+
+    private static String bankCode(int index) {
+        char[] chars = new char[4];
+        for (int i = 3; i >= 0; i--) {
+            chars[i] = (char) ('A' + index % 26);
+            index /= 26;
+        }
+        return new String(chars);
+    }
+
+    private static void writeRow(Row row, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+}
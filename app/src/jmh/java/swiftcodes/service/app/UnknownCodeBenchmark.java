@@ -0,0 +1,69 @@
+package swiftcodes.service.app;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//SwiftCodeService.getSwiftCodeDetails for codes that are not stored, with and without the Bloom filter, against a real
+//PostgreSQL (DB_URL, DB_USERNAME, DB_PASSWORD as for the application). Without it every miss is a database lookup;
+//the lookup cache is disabled for both, as it would otherwise answer repeated misses.
+//e.g. DB_URL=... ./gradlew jmh -PjmhIncludes=UnknownCodeBenchmark
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UnknownCodeBenchmark {
+
+    @Param({"true", "false"})
+    public boolean bloomFilter;
+
+    @Param({"10000"})
+    public int registrySize;
+
+    private ConfigurableApplicationContext context;
+    private SwiftCodeService swiftCodeService;
+    private Path workbook;
+    private List<String> unknownCodes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        SyntheticRegistry registry = new SyntheticRegistry(registrySize);
+        workbook = registry.writeWorkbook();
+        //Same banks and countries with a location code the registry never uses
+        unknownCodes = registry.headquarters().stream().map(code -> code.substring(0, 6) + "ZZXXX").toList();
+
+        context = new SpringApplicationBuilder(SwiftCodesApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("swift.import.sources=file:" + workbook,
+                        "swift.import.mode=sync",
+                        "swift.snapshot.path=",
+                        "swift.registry.in-memory=false",
+                        "swift.cache.max-size=0",
+                        "swift.cache.country-max-size=0")
+                .run();
+        swiftCodeService = context.getBean(SwiftCodeService.class);
+        if (!bloomFilter) {
+            //Back to "every code might exist", as before the first build
+            SyntheticRegistry.inject(context.getBean(SwiftCodeBloomFilter.class), "filter", null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        Files.deleteIfExists(workbook);
+    }
+
+    @Benchmark
+    public SwiftCode lookupUnknown() {
+        next = next + 1 < unknownCodes.size() ? next + 1 : 0;
+        return swiftCodeService.getSwiftCodeDetails(unknownCodes.get(next));
+    }
+}
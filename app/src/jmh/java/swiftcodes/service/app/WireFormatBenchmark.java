@@ -0,0 +1,68 @@
+package swiftcodes.service.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+//Bytes on the wire and server CPU for the largest country listing of a synthetic registry:
+//pretty-printed (the former default) against compact JSON, each as is and gzip-compressed like Tomcat's compression
+//(default Deflater level). Throughput is the CPU side; the "wireBytes" secondary result is the size of one response.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"10000"})
+    public int registrySize;
+
+    @Param({"true", "false"})
+    public boolean pretty;
+
+    @Param({"true", "false"})
+    public boolean gzip;
+
+    private ObjectWriter writer;
+    private Object listing;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Wire {
+        //Assigned, not added up, so it reports the size of one response
+        public long wireBytes;
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        SyntheticRegistry registry = new SyntheticRegistry(registrySize);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        APIController controller = new APIController();
+        SyntheticRegistry.inject(controller, "swiftCodeService", registry.service());
+        SyntheticRegistry.inject(controller, "objectMapper", objectMapper);
+        SyntheticRegistry.inject(controller, "maxPageSize", 1000);
+        SyntheticRegistry.inject(controller, "countryVersions", new CountryVersions());
+        listing = controller.getSwiftCodesByCountry(registry.largestCountry(), null, null,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse())).getBody();
+        writer = pretty ? objectMapper.writer(SerializationFeature.INDENT_OUTPUT) : objectMapper.writer();
+    }
+
+    @Benchmark
+    public int countryListing(Wire wire) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        //writeValue closes the target, which finishes the gzip stream
+        OutputStream target = gzip ? new GZIPOutputStream(bytes) : bytes;
+        writer.writeValue(target, listing);
+        wire.wireBytes = bytes.size();
+        return bytes.size();
+    }
+}
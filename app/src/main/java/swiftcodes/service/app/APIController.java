@@ -1,126 +1,365 @@
 package swiftcodes.service.app;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/v1/swift-codes")
 public class APIController {
 
+    private static final Logger log = LoggerFactory.getLogger(APIController.class);
+
     @Autowired
     private SwiftCodeService swiftCodeService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private SwiftCodeResponseCache swiftCodeResponseCache;
+    @Autowired
+    private SwiftCodeChangeFeed swiftCodeChangeFeed;
+    @Autowired
+    private CountryVersions countryVersions;
     private static final String ERROR_CODE="ERR-500";
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Value("${swift.country.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${swift.lookup.max-codes:10000}")
+    private int maxLookupCodes;
+
+    @Value("${swift.batch.max-items:50000}")
+    private int maxBatchItems;
+
+    @Value("${swift.search.max-results:100}")
+    private int maxSearchResults;
+
+    @Value("${swift.changes.max-page-size:1000}")
+    private int maxChangesPage;
 
     // Endpoint 1
+    //The serialized body is cached per code with an ETag; a matching If-None-Match is answered with 304 Not Modified
+    //by Spring's conditional request handling for ResponseEntity.
     @GetMapping("/{swiftCode}")
-    public ResponseEntity<Map<String, Object>> getSwiftCode(@PathVariable String swiftCode) {
+    public ResponseEntity<byte[]> getSwiftCode(@PathVariable String swiftCode) {
+        //Malformed codes and definite misses are answered before the response cache and the database
+        long bic = Bic.encode(swiftCode);
+        if (bic == Bic.INVALID || !swiftCodeService.mightExist(swiftCode)) {
+            throw APIException.notFound("SWIFT code not found: " + swiftCode);
+        }
+        try {
+            SwiftCodeResponseCache.CachedResponse cached = swiftCodeResponseCache.get(swiftCode,
+                    () -> objectMapper.writeValueAsBytes(buildSwiftCodeResponse(swiftCode, bic)));
+            byte[] body = cached.body();
+            String etag = cached.etag();
+            //The cache holds compact JSON; an indented copy is a different representation with its own strong ETag
+            if (JsonConfig.prettyRequested()) {
+                body = objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(objectMapper.readTree(body));
+                etag = etag.substring(0, etag.length() - 1) + "-pretty\"";
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(etag)
+                    .body(body);
+        } catch (APIException ex) {
+            throw ex;
+        }catch (Exception ex) {
+            log.error("Request failed", ex);
+            throw new APIException(ERROR_CODE, "Error retrieving SWIFT code details: " + ex.getMessage());
+        }
+    }
+
+    private SwiftCodeDetails buildSwiftCodeResponse(String swiftCode, long bic) {
+        SwiftCode code = swiftCodeService.getSwiftCodeDetails(swiftCode);
+        if (code == null) {
+            throw APIException.notFound("SWIFT code not found: " + swiftCode);
+        }
+
+        //Check if the input swift code is a headquarter.
+        boolean isHeadquarterInput = Bic.isHeadquarter(bic);
+        List<SwiftCodeView> branches = isHeadquarterInput ? swiftCodeService.getBranchesForHeadquarter(swiftCode) : null;
+        return SwiftCodeDetails.of(code, isHeadquarterInput, branches);
+    }
+
+    //Bulk variant of Endpoint 1: resolves a JSON array of codes in one call.
+    //Both "found" and "notFound" keep the order of the request; HQ entries carry branches if includeBranches is set.
+    @PostMapping(value = "/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> lookupSwiftCodes(@RequestBody List<String> swiftCodes,
+                                                                @RequestParam(defaultValue = "false") boolean includeBranches) {
         try {
-            SwiftCode code = swiftCodeService.getSwiftCodeDetails(swiftCode);
-            if (code == null) {
-                throw new APIException("ERR-404", "SWIFT code not found: " + swiftCode);
+            if (swiftCodes == null || swiftCodes.isEmpty() || swiftCodes.size() > maxLookupCodes) {
+                throw new APIException("INVALID_PAYLOAD", "Payload must be an array of 1 to " + maxLookupCodes + " SWIFT codes.");
             }
+            //Malformed codes are reported as not found without being looked up
+            List<String> requested = swiftCodes.stream().filter(Objects::nonNull).toList();
+            List<String> wellFormed = requested.stream().filter(Bic::isValid).toList();
 
-            //Check if the input swift code is a headquarter.
-            boolean isHeadquarterInput = swiftCode.toUpperCase().endsWith("XXX");
-            Map<String, Object> response = new LinkedHashMap<>();
+            Map<String, SwiftCode> found = swiftCodeService.getSwiftCodeDetails(wellFormed);
+            Map<String, List<SwiftCodeView>> branches = Map.of();
+            if (includeBranches) {
+                List<String> headquarters = found.keySet().stream()
+                        .filter(code -> Bic.isHeadquarter(Bic.encode(code))).toList();
+                branches = swiftCodeService.getBranchesForHeadquarters(headquarters);
+            }
 
-            if (isHeadquarterInput) {
-                APIDTO headquarterDto = new APIDTO(
-                        code.getAddress(),
-                        code.getBankName(),
-                        code.getCountryISO2(),
-                        code.getCountryName(),
-                        true,
-                        code.getSwiftCode()
-                );
-                response.put("address", headquarterDto.getAddress());
-                response.put("bankName", headquarterDto.getBankName());
-                response.put("countryISO2", headquarterDto.getCountryISO2());
-                response.put("countryName", headquarterDto.getCountryName());
-                response.put("isHeadquarter", headquarterDto.isHeadquarter());
-                response.put("swiftCode", headquarterDto.getSwiftCode());
-
-
-                List<SwiftCode> branches = swiftCodeService.getBranchesForHeadquarter(swiftCode);
-                List<APIDTO> branchDtos = branches.stream()
-                        .map(branch -> new APIDTO(
-                                branch.getAddress(),
-                                branch.getBankName(),
-                                branch.getCountryISO2(),
-                                null,  // No country name for branch
-                                branch.getIsHeadquarter(),
-                                branch.getSwiftCode()
-                        ))
-                        .toList();
-                response.put("branches", branchDtos);
-            } else {
-                //Return for branch SWIFT CODE
-                APIDTO branchDto = new APIDTO(
-                        code.getAddress(),
-                        code.getBankName(),
-                        code.getCountryISO2(),
-                        code.getCountryName(),
-                        false,
-                        code.getSwiftCode()
-                );
-                response.put("address", branchDto.getAddress());
-                response.put("bankName", branchDto.getBankName());
-                response.put("countryISO2", branchDto.getCountryISO2());
-                response.put("countryName", branchDto.getCountryName());
-                response.put("isHeadquarter", branchDto.isHeadquarter());
-                response.put("swiftCode", branchDto.getSwiftCode());
+            List<SwiftCodeDetails> foundEntries = new ArrayList<>(found.size());
+            List<String> notFound = new ArrayList<>();
+            for (String requestedCode : requested) {
+                long bic = Bic.encode(requestedCode);
+                SwiftCode code = bic == Bic.INVALID ? null : found.get(Bic.toString(bic));
+                if (code == null) {
+                    notFound.add(requestedCode);
+                    continue;
+                }
+                boolean headquarter = Bic.isHeadquarter(bic);
+                List<SwiftCodeView> codeBranches = headquarter && includeBranches
+                        ? branches.getOrDefault(code.getInstitutionCode(), List.of())
+                        : null;
+                foundEntries.add(SwiftCodeDetails.of(code, headquarter, codeBranches));
             }
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("found", foundEntries);
+            response.put("notFound", notFound);
             return ResponseEntity.ok(response);
         } catch (APIException ex) {
             throw ex;
-        }catch (Exception ex) {
-            ex.printStackTrace();
-            throw new APIException(ERROR_CODE, "Error retrieving SWIFT code details: " + ex.getMessage());
+        } catch (Exception ex) {
+            log.error("Request failed", ex);
+            throw new APIException(ERROR_CODE, "Error looking up SWIFT codes: " + ex.getMessage());
         }
     }
 
     // Endpoint 2
+    //Without paging parameters the whole country is returned; with ?limit (and ?after) a keyset page is returned
+    //together with "nextAfter" to pass as ?after for the following page.
+    //Responses carry a weak ETag and Last-Modified from the country's version counter; a matching If-None-Match or
+    //If-Modified-Since is answered with 304 Not Modified before the country is read.
     @GetMapping("/country/{countryISO2}")
-    public ResponseEntity<Map<String, Object>> getSwiftCodesByCountry(@PathVariable String countryISO2) {
+    public ResponseEntity<CountryListing> getSwiftCodesByCountry(@PathVariable String countryISO2,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestParam(required = false) Integer limit,
+                                                                 WebRequest webRequest) {
+        CountryVersions.Tag tag = countryVersions.tag(countryISO2);
+        if (webRequest.checkNotModified(tag.etag(), tag.lastModified().toEpochMilli())) {
+            return null;
+        }
         try {
-            List<SwiftCode> codes = swiftCodeService.getSwiftCodesByCountry(countryISO2);
-            if (codes.isEmpty()) {
-                throw new APIException("ERR-404", "No SWIFT codes found for country: " + countryISO2);
+            boolean paged = after != null || limit != null;
+            int pageSize = limit == null ? maxPageSize : limit;
+            if (paged && (pageSize < 1 || pageSize > maxPageSize)) {
+                throw new APIException("INVALID_LIMIT", "limit must be between 1 and " + maxPageSize);
             }
 
-            String countryName = codes.getFirst().getCountryName();
+            List<SwiftCodeView> codes = paged
+                    ? swiftCodeService.getSwiftCodesByCountryPage(countryISO2, after, pageSize)
+                    : swiftCodeService.getSwiftCodesByCountry(countryISO2);
+            //A later page may legitimately be empty, an unknown country may not
+            if (codes.isEmpty() && after == null) {
+                throw APIException.notFound("No SWIFT codes found for country: " + countryISO2);
+            }
+
+            String countryName = codes.isEmpty() ? null : codes.getFirst().countryName();
 
             List<APIDTO> codeDtos = codes.stream()
-                    .map(code -> new APIDTO(
-                            code.getAddress(),
-                            code.getBankName(),
-                            code.getCountryISO2(),
-                            code.getIsHeadquarter(),
-                            code.getSwiftCode()
-                    ))
+                    .map(APIDTO::entryOf)
                     .toList();
 
-            Map<String, Object> response = new LinkedHashMap<>();
-            response.put("countryISO2", countryISO2);
-            response.put("countryName", countryName);
-            response.put("swiftCodes", codeDtos);
+            CountryListing response = paged
+                    ? new CountryListing.Page(countryISO2, countryName, codeDtos,
+                            codes.size() == pageSize ? codes.getLast().swiftCode() : null)
+                    : new CountryListing.Full(countryISO2, countryName, codeDtos);
 
+            //ETag and Last-Modified were already set by checkNotModified
             return ResponseEntity.ok(response);
         } catch (APIException ex) {
             throw ex;
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.error("Request failed", ex);
             throw new APIException(ERROR_CODE, "Error retrieving SWIFT codes for country: " + ex.getMessage());
         }
     }
 
+    //Endpoint 2 as newline-delimited JSON, one country entry per line, written while rows are read.
+    @GetMapping(value = "/country/{countryISO2}/stream", produces = NDJSON)
+    public void streamSwiftCodesByCountry(@PathVariable String countryISO2, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        ObjectWriter lineWriter = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        OutputStream out = response.getOutputStream();
+
+        int count = swiftCodeService.streamSwiftCodesByCountry(countryISO2, code -> {
+            try {
+                lineWriter.writeValue(out, APIDTO.entryOf(code));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        //Nothing has been written yet, so the error response can still replace the stream
+        if (count == 0) {
+            throw APIException.notFound("No SWIFT codes found for country: " + countryISO2);
+        }
+        out.flush();
+    }
+
+    //Per-country counts for dashboards, served from the precomputed country_summary table.
+    @GetMapping(value = "/countries", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> getCountrySummaries() {
+        try {
+            List<Map<String, Object>> countries = new ArrayList<>();
+            long total = 0;
+            for (CountrySummary summary : swiftCodeService.getCountrySummaries()) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("countryISO2", summary.getCountryISO2());
+                entry.put("countryName", summary.getCountryName());
+                entry.put("total", summary.getTotal());
+                entry.put("headquarters", summary.getHeadquarters());
+                entry.put("branches", summary.getBranches());
+                countries.add(entry);
+                total += summary.getTotal();
+            }
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("total", total);
+            response.put("countries", countries);
+            return ResponseEntity.ok(response);
+        } catch (Exception ex) {
+            log.error("Request failed", ex);
+            throw new APIException(ERROR_CODE, "Error retrieving country summaries: " + ex.getMessage());
+        }
+    }
+
+    //Change log for mirrors: entries after ?since, oldest first. UPSERT entries carry the code as returned by Endpoint 1
+    //(without branches), or null if it was deleted afterwards; a later DELETE entry follows in that case.
+    //A since older than the retained log is rejected, the client then has to pull the full registry again.
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                          @RequestParam(required = false) Integer limit) {
+        try {
+            int pageSize = limit == null ? maxChangesPage : limit;
+            if (pageSize < 1 || pageSize > maxChangesPage) {
+                throw new APIException("INVALID_LIMIT", "limit must be between 1 and " + maxChangesPage);
+            }
+            checkChangesRetained(since);
+
+            List<SwiftCodeChange> changes = swiftCodeService.getChangesSince(since, pageSize);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("since", since);
+            response.put("lastSeq", changes.isEmpty() ? since : changes.getLast().getSeq());
+            response.put("hasMore", changes.size() == pageSize);
+            response.put("changes", changeEntries(changes));
+            return ResponseEntity.ok(response);
+        } catch (APIException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Request failed", ex);
+            throw new APIException(ERROR_CODE, "Error retrieving changes: " + ex.getMessage());
+        }
+    }
+
+    //The same entries as Server-Sent Events named "change" with the seq as event id; reconnecting with
+    //Last-Event-ID resumes after it.
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : since != null ? since : 0;
+        checkChangesRetained(from);
+        return swiftCodeChangeFeed.subscribe(from, this::changeEntries);
+    }
+
+    private void checkChangesRetained(long since) {
+        Long oldest = since > 0 ? swiftCodeService.getOldestChangeSeq() : null;
+        if (oldest != null && since < oldest - 1) {
+            throw new APIException("CHANGES_EXPIRED",
+                    "Changes after " + since + " are no longer retained, the oldest is " + oldest + ". Pull the full registry again.");
+        }
+    }
+
+    private List<Map<String, Object>> changeEntries(List<SwiftCodeChange> changes) {
+        List<String> upserted = changes.stream()
+                .filter(change -> change.getOperation() == SwiftCodeChange.Operation.UPSERT)
+                .map(SwiftCodeChange::getSwiftCode)
+                .toList();
+        Map<String, SwiftCode> current = upserted.isEmpty() ? Map.of() : swiftCodeService.getSwiftCodeDetails(upserted);
+
+        List<Map<String, Object>> entries = new ArrayList<>(changes.size());
+        for (SwiftCodeChange change : changes) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("seq", change.getSeq());
+            entry.put("operation", change.getOperation().name());
+            entry.put("swiftCode", change.getSwiftCode());
+            entry.put("countryISO2", change.getCountryISO2());
+            entry.put("changedAt", change.getChangedAt().toString());
+            if (change.getOperation() == SwiftCodeChange.Operation.UPSERT) {
+                SwiftCode code = current.get(change.getSwiftCode());
+                entry.put("code", code == null ? null
+                        : SwiftCodeDetails.of(code, Boolean.TRUE.equals(code.getIsHeadquarter()), null));
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    //Fuzzy search by partial bank name, address/city or a mistyped code, best matches first.
+    //Results are entries of Endpoint 1 (without branches) plus the match score.
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> searchSwiftCodes(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "20") int limit) {
+        try {
+            if (SwiftCodeSearchIndex.normalize(q).replace(" ", "").length() < 2) {
+                throw new APIException("INVALID_QUERY", "q must contain at least 2 letters or digits");
+            }
+            if (limit < 1 || limit > maxSearchResults) {
+                throw new APIException("INVALID_LIMIT", "limit must be between 1 and " + maxSearchResults);
+            }
+
+            List<SwiftCodeDetails.Scored> results = new ArrayList<>();
+            for (SwiftCodeSearchIndex.Hit hit : swiftCodeService.searchSwiftCodes(q, limit)) {
+                SwiftCode code = hit.code();
+                results.add(new SwiftCodeDetails.Scored(
+                        SwiftCodeDetails.of(code, Boolean.TRUE.equals(code.getIsHeadquarter()), null),
+                        Math.round(hit.score() * 1000) / 1000.0));
+            }
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("query", q);
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (APIException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Request failed", ex);
+            throw new APIException(ERROR_CODE, "Error searching SWIFT codes: " + ex.getMessage());
+        }
+    }
+
     // Endpoint 3
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, String>> addSwiftCode(@RequestBody SwiftCode swiftCode) {
@@ -128,7 +367,7 @@ public class APIController {
             if (isInvalid(swiftCode)) {
                 Map<String, String> errorResponse = new LinkedHashMap<>();
                 errorResponse.put("error_code", "INVALID_PAYLOAD");
-                errorResponse.put("message", "Payload must include non-null value for address and non empty for: bankName, countryISO2, countryName, swiftCode and a valid isHeadquarter boolean.");
+                errorResponse.put("message", "Payload must include non-null value for address and non empty for: bankName, countryISO2, countryName, an 8 or 11 character swiftCode (4 bank letters, 2 country letters, 2 location and optionally 3 branch characters) and a valid isHeadquarter boolean.");
                 return ResponseEntity.badRequest().body(errorResponse);
             }
 
@@ -139,11 +378,41 @@ public class APIController {
         } catch (APIException ex) {
             throw ex;
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.error("Request failed", ex);
             throw new APIException(ERROR_CODE, "Error adding SWIFT code: " + ex.getMessage());
         }
     }
 
+    //Bulk variant of Endpoint 3: every entry is validated like a single add, valid ones are inserted in one transaction.
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> addSwiftCodes(@RequestBody List<SwiftCode> swiftCodes) {
+        try {
+            checkBatchSize(swiftCodes);
+            List<SwiftCode> valid = swiftCodes.stream().filter(code -> code != null && !isInvalid(code)).toList();
+            Map<String, SwiftCodeService.BatchStatus> statuses = swiftCodeService.addSwiftCodes(valid);
+
+            List<Map<String, String>> results = new ArrayList<>(swiftCodes.size());
+            Set<String> reported = new HashSet<>();
+            for (SwiftCode code : swiftCodes) {
+                if (code == null || isInvalid(code)) {
+                    results.add(batchResult(code == null ? null : code.getSwiftCode(), "INVALID_PAYLOAD"));
+                } else {
+                    //A code repeated in the request is created once, later occurrences are duplicates
+                    String status = reported.add(code.getSwiftCode())
+                            ? statuses.get(code.getSwiftCode()).name()
+                            : SwiftCodeService.BatchStatus.DUPLICATE.name();
+                    results.add(batchResult(code.getSwiftCode(), status));
+                }
+            }
+            return ResponseEntity.ok(batchResponse(results));
+        } catch (APIException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Request failed", ex);
+            throw new APIException(ERROR_CODE, "Error adding SWIFT codes: " + ex.getMessage());
+        }
+    }
+
     @ExceptionHandler(com.fasterxml.jackson.databind.JsonMappingException.class)
     public ResponseEntity<Map<String, String>> handleJsonMappingException(JsonMappingException ex) {
         Map<String, String> errorResponse = new LinkedHashMap<>();
@@ -161,7 +430,7 @@ public class APIController {
         if (code.getBankName() == null || code.getBankName().trim().isEmpty()) return true;
         if (code.getCountryISO2() == null || code.getCountryISO2().trim().isEmpty()) return true;
         if (code.getCountryName() == null || code.getCountryName().trim().isEmpty()) return true;
-        if (code.getSwiftCode() == null || code.getSwiftCode().trim().isEmpty()) return true;
+        if (!Bic.isValid(code.getSwiftCode())) return true;
         if (code.getIsHeadquarter() == null) return true;
         return false;
     }
@@ -169,6 +438,9 @@ public class APIController {
     // Endpoint 4
     @DeleteMapping(value ="/{swiftCode}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, String>> deleteSwiftCode(@PathVariable String swiftCode) {
+        if (!Bic.isValid(swiftCode)) {
+            throw new APIException("INVALID_SWIFT_CODE", "Malformed SWIFT code: " + swiftCode);
+        }
         try {
             swiftCodeService.deleteSwiftCode(swiftCode);
             Map<String, String> response = new LinkedHashMap<>();
@@ -177,8 +449,61 @@ public class APIController {
         } catch (APIException ex) {
             throw ex;
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.error("Request failed", ex);
             throw new APIException(ERROR_CODE, "Error deleting SWIFT code: " + ex.getMessage());
         }
     }
+
+    //Bulk variant of Endpoint 4: deletes a JSON array of codes in one transaction.
+    @DeleteMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> deleteSwiftCodes(@RequestBody List<String> swiftCodes) {
+        try {
+            checkBatchSize(swiftCodes);
+            List<String> requested = swiftCodes.stream().filter(Bic::isValid).toList();
+            Map<String, SwiftCodeService.BatchStatus> statuses = swiftCodeService.deleteSwiftCodes(requested);
+
+            List<Map<String, String>> results = new ArrayList<>(swiftCodes.size());
+            Set<String> reported = new HashSet<>();
+            for (String code : swiftCodes) {
+                if (!Bic.isValid(code)) {
+                    results.add(batchResult(code, "INVALID_PAYLOAD"));
+                } else {
+                    String key = Bic.canonical(code);
+                    String status = reported.add(key)
+                            ? statuses.get(key).name()
+                            : SwiftCodeService.BatchStatus.NOT_FOUND.name();
+                    results.add(batchResult(code, status));
+                }
+            }
+            return ResponseEntity.ok(batchResponse(results));
+        } catch (APIException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Request failed", ex);
+            throw new APIException(ERROR_CODE, "Error deleting SWIFT codes: " + ex.getMessage());
+        }
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > maxBatchItems) {
+            throw new APIException("INVALID_PAYLOAD", "Payload must be an array of 1 to " + maxBatchItems + " entries.");
+        }
+    }
+
+    private static Map<String, String> batchResult(String swiftCode, String status) {
+        Map<String, String> result = new LinkedHashMap<>();
+        result.put("swiftCode", swiftCode);
+        result.put("status", status);
+        return result;
+    }
+
+    //Per-item results in request order, preceded by a count per status.
+    private static Map<String, Object> batchResponse(List<Map<String, String>> results) {
+        Map<String, Long> summary = new LinkedHashMap<>();
+        results.forEach(result -> summary.merge(result.get("status"), 1L, Long::sum));
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("summary", summary);
+        response.put("results", results);
+        return response;
+    }
 }
@@ -62,7 +62,12 @@ public class APIDTO {
     @JsonProperty("isHeadquarter")
     public boolean isHeadquarter() { return isHeadquarter; }
 
-    private String checkEmpty(String value) {
+    //List entry without country name (branches of an HQ, country listings)
+    public static APIDTO entryOf(SwiftCodeView code) {
+        return new APIDTO(code.address(), code.bankName(), code.countryISO2(), code.isHeadquarter(), code.swiftCode());
+    }
+
+    static String checkEmpty(String value) {
         return (value == null || value.trim().isEmpty()) ? "Not Specified" : value;
     }
 }
@@ -8,6 +8,16 @@ public class APIException extends RuntimeException {
         this.errorCode = errorCode;
     }
 
+    //Not found is an expected outcome for validation traffic, so it skips the stack trace capture.
+    public static APIException notFound(String message) {
+        return new APIException("ERR-404", message, false);
+    }
+
+    private APIException(String errorCode, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
+
     public String getErrorCode() {
         return errorCode;
     }
@@ -0,0 +1,142 @@
+package swiftcodes.service.app;
+
+//A structurally valid SWIFT code (BIC) packed into one long:
+//4 letter bank code, 2 letter country code, 2 alphanumeric location characters and an optional 3 alphanumeric branch code.
+//Characters are base-36 digits (0-9, A-Z), so 11 of them fit in 57 bits; the lowest bit marks an 8-character code.
+//The static methods parse and inspect packed values in one pass over the characters without allocating,
+//so malformed input can be rejected at the API and import boundary before any cache or database work.
+public record Bic(long value) {
+
+    //Returned by encode for malformed input; valid packed values are never negative
+    public static final long INVALID = -1L;
+
+    private static final int RADIX = 36;
+    private static final long BRANCH_SCALE = (long) RADIX * RADIX * RADIX;
+    private static final long HEAD_OFFICE = (33L * RADIX + 33) * RADIX + 33;   //"XXX", X = 33
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    //Null for malformed input.
+    public static Bic parse(CharSequence text) {
+        long value = encode(text);
+        return value == INVALID ? null : new Bic(value);
+    }
+
+    public static boolean isValid(CharSequence text) {
+        return encode(text) != INVALID;
+    }
+
+    //Case-insensitive, surrounding whitespace is ignored.
+    public static long encode(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        int length = end - start;
+        if (length != 8 && length != 11) {
+            return INVALID;
+        }
+        long packed = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = digit(text.charAt(start + i));
+            //Bank and country code are letters only
+            if (digit < 0 || (i < 6 && digit < 10)) {
+                return INVALID;
+            }
+            packed = packed * RADIX + digit;
+        }
+        return packed << 1 | (length == 8 ? 1 : 0);
+    }
+
+    //The upper-cased, trimmed code; the same instance if it already is. Null for malformed input.
+    public static String canonical(String text) {
+        long value = encode(text);
+        if (value == INVALID) {
+            return null;
+        }
+        if (text.length() == length(value)) {
+            boolean upper = true;
+            for (int i = 0; i < text.length() && upper; i++) {
+                upper = text.charAt(i) < 'a';
+            }
+            if (upper) {
+                return text;
+            }
+        }
+        return toString(value);
+    }
+
+    //Key used for lookups and storage: canonical for valid codes, upper-cased as given otherwise.
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String canonical = canonical(text);
+        return canonical != null ? canonical : text.trim().toUpperCase();
+    }
+
+    public static int length(long value) {
+        return (value & 1) == 1 ? 8 : 11;
+    }
+
+    //Branch code XXX, as the registry marks headquarters; an 8-character code has no branch code and is not one
+    public static boolean isHeadquarter(long value) {
+        return length(value) == 11 && (value >>> 1) % BRANCH_SCALE == HEAD_OFFICE;
+    }
+
+    //Bank, country and location, shared by a headquarter and its branches
+    public static String institutionCode(long value) {
+        return decode(value, 8);
+    }
+
+    public static String toString(long value) {
+        return decode(value, length(value));
+    }
+
+    public boolean isHeadquarter() {
+        return isHeadquarter(value);
+    }
+
+    public String institutionCode() {
+        return institutionCode(value);
+    }
+
+    public String countryCode() {
+        return decode(value, 6).substring(4);
+    }
+
+    @Override
+    public String toString() {
+        return toString(value);
+    }
+
+    private static String decode(long value, int prefixLength) {
+        int length = length(value);
+        long digits = value >>> 1;
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = DIGITS[(int) (digits % RADIX)];
+            digits /= RADIX;
+        }
+        return new String(chars, 0, prefixLength);
+    }
+
+    private static int digit(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 10;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,17 @@
+package swiftcodes.service.app;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+//Response of Endpoint 2. Only keyset pages have "nextAfter", written as null on the last page.
+public sealed interface CountryListing permits CountryListing.Full, CountryListing.Page {
+
+    @JsonPropertyOrder({"countryISO2", "countryName", "swiftCodes"})
+    record Full(String countryISO2, String countryName, List<APIDTO> swiftCodes) implements CountryListing {
+    }
+
+    @JsonPropertyOrder({"countryISO2", "countryName", "swiftCodes", "nextAfter"})
+    record Page(String countryISO2, String countryName, List<APIDTO> swiftCodes, String nextAfter) implements CountryListing {
+    }
+}
@@ -0,0 +1,57 @@
+package swiftcodes.service.app;
+
+import jakarta.persistence.*;
+
+//Per-country counts of swift_codes, maintained by CountrySummaryWriter so the countries endpoint never scans swift_codes.
+@Entity
+@Table(name = "country_summary")
+public class CountrySummary {
+
+    @Id
+    @Column(name = "countryISO2")
+    private String countryISO2;
+
+    @Column(name = "countryName")
+    private String countryName;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    @Column(name = "headquarters", nullable = false)
+    private long headquarters;
+
+    @Column(name = "branches", nullable = false)
+    private long branches;
+
+    protected CountrySummary() {
+    }
+
+    public CountrySummary(String countryISO2, String countryName, long headquarters, long branches) {
+        this.countryISO2 = countryISO2;
+        this.countryName = countryName;
+        this.headquarters = headquarters;
+        this.branches = branches;
+        this.total = headquarters + branches;
+    }
+
+    //Getters
+    public String getCountryISO2() {
+        return countryISO2;
+    }
+
+    public String getCountryName() {
+        return countryName;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getHeadquarters() {
+        return headquarters;
+    }
+
+    public long getBranches() {
+        return branches;
+    }
+}
@@ -0,0 +1,10 @@
+package swiftcodes.service.app;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CountrySummaryRepository extends JpaRepository<CountrySummary, String> {
+
+    List<CountrySummary> findAllByOrderByCountryISO2Asc();
+}
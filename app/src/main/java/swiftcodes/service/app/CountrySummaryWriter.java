@@ -0,0 +1,90 @@
+package swiftcodes.service.app;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//Keeps country_summary in step with swift_codes. Callers run it in the transaction that changes swift_codes,
+//so both tables commit or roll back together.
+@Component
+public class CountrySummaryWriter {
+
+    //Adds a signed delta to the country's counters, creating the row on the first code of a country
+    private static final String APPLY_SQL =
+            "INSERT INTO country_summary (countryISO2, countryName, total, headquarters, branches) "
+                    + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (countryISO2) DO UPDATE SET "
+                    + "countryName = COALESCE(country_summary.countryName, EXCLUDED.countryName), "
+                    + "total = country_summary.total + EXCLUDED.total, "
+                    + "headquarters = country_summary.headquarters + EXCLUDED.headquarters, "
+                    + "branches = country_summary.branches + EXCLUDED.branches";
+
+    private static final String PRUNE_SQL = "DELETE FROM country_summary WHERE total <= 0";
+
+    private static final String CLEAR_SQL = "DELETE FROM country_summary";
+
+    //Full recount, only run by the registry import (which rewrites swift_codes anyway) and on an empty summary
+    private static final String REBUILD_SQL =
+            "INSERT INTO country_summary (countryISO2, countryName, total, headquarters, branches) "
+                    + "SELECT countryISO2, max(countryName), count(*), "
+                    + "count(*) FILTER (WHERE isHeadquarter), count(*) FILTER (WHERE NOT isHeadquarter OR isHeadquarter IS NULL) "
+                    + "FROM swift_codes WHERE countryISO2 IS NOT NULL GROUP BY countryISO2";
+
+    private static final String EMPTY_SQL =
+            "SELECT NOT EXISTS (SELECT 1 FROM country_summary) AND EXISTS (SELECT 1 FROM swift_codes)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void added(Collection<SwiftCode> codes) {
+        apply(codes, 1);
+    }
+
+    public void removed(Collection<SwiftCode> codes) {
+        apply(codes, -1);
+    }
+
+    //Recounts every country, returns the number of countries.
+    public int rebuild() {
+        jdbcTemplate.update(CLEAR_SQL);
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    //Databases filled before the summary table existed get it built once at startup.
+    public boolean rebuildIfMissing() {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(EMPTY_SQL, Boolean.class))) {
+            rebuild();
+            return true;
+        }
+        return false;
+    }
+
+    //One statement per affected country rather than per code, so batch operations stay cheap
+    private void apply(Collection<SwiftCode> codes, int sign) {
+        Map<String, long[]> deltas = new LinkedHashMap<>();
+        Map<String, String> names = new LinkedHashMap<>();
+        for (SwiftCode code : codes) {
+            if (code.getCountryISO2() == null) {
+                continue;
+            }
+            long[] delta = deltas.computeIfAbsent(code.getCountryISO2(), k -> new long[2]);
+            delta[Boolean.TRUE.equals(code.getIsHeadquarter()) ? 0 : 1] += sign;
+            names.putIfAbsent(code.getCountryISO2(), code.getCountryName());
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((country, delta) ->
+                rows.add(new Object[]{country, names.get(country), delta[0] + delta[1], delta[0], delta[1]}));
+        jdbcTemplate.batchUpdate(APPLY_SQL, rows);
+        if (sign < 0) {
+            jdbcTemplate.update(PRUNE_SQL);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package swiftcodes.service.app;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Per-country version counter behind the ETag and Last-Modified of GET /v1/swift-codes/country/{countryISO2}.
+//A committed add or delete bumps the version of its country, a changed import bumps the generation shared by all of them.
+//Counters are kept in memory; the ETag carries the start time of this instance, so a tag handed out before a restart
+//never matches again. ETags are weak: compact, pretty-printed and compressed bodies are the same representation.
+@Component
+public class CountryVersions {
+
+    public record Tag(String etag, Instant lastModified) {
+    }
+
+    private record Version(long counter, Instant modified) {
+    }
+
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+    private volatile Instant reloadedAt = now();
+
+    //Read before the country is, so the body sent with a tag is never older than the tag.
+    public Tag tag(String countryISO2) {
+        Instant reloaded = reloadedAt;
+        long currentGeneration = generation.get();
+        Version version = versions.get(countryISO2.toUpperCase());
+        long counter = version == null ? 0 : version.counter();
+        Instant modified = version == null || version.modified().isBefore(reloaded) ? reloaded : version.modified();
+        return new Tag("W/\"" + instance + "-" + currentGeneration + "-" + counter + "\"", modified);
+    }
+
+    @EventListener
+    public void onSwiftCodeChanged(SwiftCodeChangedEvent event) {
+        if (event.countryISO2() != null) {
+            versions.merge(event.countryISO2().toUpperCase(), new Version(1, now()),
+                    (old, bumped) -> new Version(old.counter() + 1, bumped.modified()));
+        }
+    }
+
+    @EventListener
+    public void onRegistryReloaded(RegistryReloadedEvent event) {
+        if (event.changed()) {
+            reloadedAt = now();
+            generation.incrementAndGet();
+        }
+    }
+
+    //HTTP dates have whole seconds
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
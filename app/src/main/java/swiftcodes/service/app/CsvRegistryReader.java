@@ -0,0 +1,106 @@
+package swiftcodes.service.app;
+
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+//Reads registry CSV files (same columns as the workbook, first line is a header) one record at a time.
+//Fields may be quoted; quoted fields can contain commas, doubled quotes and line breaks.
+@Component
+public class CsvRegistryReader {
+
+    //Rows without a structurally valid SWIFT code are not emitted but counted in skipped.
+    public int read(Resource resource, Consumer<SwiftCode> consumer, AtomicInteger skipped) throws Exception {
+        int emitted = 0;
+        int rejected = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String[] cells = new String[RegistryRow.COLUMN_COUNT];
+            boolean header = true;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int recordLine = lineNumber;
+                //Keep reading physical lines while a quoted field is still open
+                while (hasOpenQuote(line)) {
+                    String next = reader.readLine();
+                    if (next == null) {
+                        break;
+                    }
+                    lineNumber++;
+                    line = line + "\n" + next;
+                }
+                if (header) { //Skip header
+                    header = false;
+                    continue;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                parse(line, cells);
+                SwiftCode code = RegistryRow.toSwiftCode(cells);
+                if (code != null) {
+                    consumer.accept(code);
+                    emitted++;
+                } else {
+                    RegistryRow.logSkipped(recordLine, cells);
+                    rejected++;
+                }
+            }
+        }
+        RegistryRow.reportSkipped(resource.getFilename(), rejected);
+        skipped.addAndGet(rejected);
+        return emitted;
+    }
+
+    private static void parse(String line, String[] cells) {
+        Arrays.fill(cells, null);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int col = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                set(cells, col++, field);
+            } else {
+                field.append(c);
+            }
+        }
+        set(cells, col, field);
+    }
+
+    private static void set(String[] cells, int col, StringBuilder field) {
+        if (col < cells.length) {
+            cells[col] = field.toString().trim();
+        }
+        field.setLength(0);
+    }
+
+    private static boolean hasOpenQuote(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+}
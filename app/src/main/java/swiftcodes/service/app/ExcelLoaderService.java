@@ -1,66 +1,233 @@
 package swiftcodes.service.app;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class ExcelLoaderService {
 
+    private static final Logger log = LoggerFactory.getLogger(ExcelLoaderService.class);
+
+    //ImportState key of the registry, named after the original single workbook so existing state still matches
+    private static final String SOURCE = "SWIFT_CODES.xlsx";
+
+    @Autowired
+    private RegistryImportEngine registryImportEngine;
+
+    @Autowired
+    private SwiftCodeBatchWriter swiftCodeBatchWriter;
+
+    @Autowired
+    private ImportStateRepository importStateRepository;
+
+    @Autowired
+    private CountrySummaryWriter countrySummaryWriter;
+
+    @Autowired
+    private SwiftCodeBloomFilter swiftCodeBloomFilter;
+
+    @Autowired
+    private RegistrySnapshotFile registrySnapshotFile;
+
     @Autowired
-    private SwiftCodeRepository swiftCodeRepository;
+    private SwiftCodeChangeLog swiftCodeChangeLog;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RegistryImportStatus registryImportStatus;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    //When enabled, a workbook whose content hash matches the last import is not read at all.
+    @Value("${swift.import.skip-unchanged:true}")
+    private boolean skipUnchanged;
+
+    //Comma-separated workbooks, CSV files or directories of them, later sources win on repeated codes.
+    @Value("${swift.import.sources:classpath:SWIFT_CODES.xlsx}")
+    private List<String> sources;
+
+    //When enabled, codes missing from the sources are deleted, making the table an exact copy of the feed.
+    //Off by default, since it also removes codes added through the API.
+    @Value("${swift.import.delete-missing:false}")
+    private boolean deleteMissing;
+
+    //Imports the registry in one transaction, so concurrent readers keep seeing the previous registry until it commits.
+    //Progress goes to RegistryImportStatus; a RegistryReloadedEvent is published once the registry is consistent.
     public void loadExcelData() {
+        if (!registryImportStatus.start()) {
+            log.warn("SWIFT registry import already running, ignoring request");
+            return;
+        }
+        long start = System.nanoTime();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "imported";
         try {
-            ClassPathResource resource = new ClassPathResource("SWIFT_CODES.xlsx");
-            InputStream inputStream = resource.getInputStream();
-            Workbook workbook = new XSSFWorkbook(inputStream);
-            Sheet sheet = workbook.getSheetAt(0); //Data is in the first sheet
-
-            Iterator<Row> rowIterator = sheet.iterator();
-            boolean firstRow = true;
-
-            while (rowIterator.hasNext()) {
-                Row row = rowIterator.next();
-                if (firstRow) { //Skip header
-                    firstRow = false;
-                    continue;
-                }
+            List<Resource> resources = registryImportEngine.resolve(sources);
 
-                List<String> rowData = new ArrayList<>();
-                for (Cell cell : row) {
-                    cell.setCellType(CellType.STRING); //Converting all cells to String
-                    rowData.add(cell.getStringCellValue().trim());
-                }
+            int backfilled = swiftCodeBatchWriter.backfillInstitutionCodes();
+            if (backfilled > 0) {
+                log.info("Backfilled institution code for {} SWIFT codes", backfilled);
+            }
+            if (countrySummaryWriter.rebuildIfMissing()) {
+                log.info("Built country summaries for the existing registry");
+            }
+
+            String hash = contentHash(resources);
+            ImportState lastImport = importStateRepository.findById(SOURCE).orElse(null);
+            if (skipUnchanged && lastImport != null && hash.equals(lastImport.getContentHash())) {
+                log.info("SWIFT registry unchanged since {} ({} rows), skipping import",
+                        lastImport.getImportedAt(), lastImport.getRowCount());
+                outcome = "unchanged";
+                eventPublisher.publishEvent(new RegistryReloadedEvent(false, lastImport.getRowCount()));
+                registryImportStatus.finished(outcome);
+                return;
+            }
+
+            //A snapshot compiled from the same sources replaces parsing them
+            boolean fromSnapshot = registrySnapshotFile.isEnabled() && registrySnapshotFile.matches(hash);
+            if (fromSnapshot) {
+                outcome = "snapshot";
+            }
+            //Rows dropped by the readers for lacking a valid SWIFT code; a snapshot only holds rows that passed
+            AtomicInteger skipped = new AtomicInteger();
+            int written = new TransactionTemplate(transactionManager).execute(tx -> {
+                int rows = fromSnapshot ? importSnapshot(resources, hash, skipped) : importRows(resources, hash, skipped);
+                //The import may move codes between countries, so the summaries are recounted rather than patched
+                countrySummaryWriter.rebuild();
+                swiftCodeChangeLog.prune();
+                importStateRepository.save(new ImportState(SOURCE, hash, rows));
+                return rows;
+            });
+            eventPublisher.publishEvent(new RegistryReloadedEvent(true, written));
+            registryImportStatus.finished(outcome);
+            Counter.builder("swift.import.rows").description("Rows written by the registry import")
+                    .tag("result", "written").register(meterRegistry).increment(written);
+            Counter.builder("swift.import.rows").description("Rows skipped by the registry import")
+                    .tag("result", "skipped").register(meterRegistry).increment(skipped.get());
 
-                if (rowData.size() < 7)
-                    continue;
-
-                SwiftCode code = new SwiftCode();
-                System.out.println("Country Code:"+rowData.get(0));
-                code.setCountryISO2(rowData.get(0)); //Country Code
-                System.out.println("Swift Code:"+rowData.get(1));
-                code.setSwiftCode(rowData.get(1)); //SWIFT Code
-                System.out.println("Bank Name:"+rowData.get(3));
-                code.setBankName(rowData.get(3)); //Bank Name
-                System.out.println("Bank Address:"+rowData.get(4));
-                code.setAddress(rowData.get(4)); //Bank Address
-                System.out.println("Country Name:"+rowData.get(6));
-                code.setCountryName(rowData.get(6)); //Country Name
-                code.setIsHeadquarter(rowData.get(1).endsWith("XXX"));
-
-                swiftCodeRepository.save(code);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            log.info("Imported {} SWIFT codes from {} sources in {} s ({} rows/s), skipped {} rows without a valid "
+                    + "SWIFT code", written, resources.size(), String.format("%.2f", seconds),
+                    Math.round(written / Math.max(seconds, 1e-9)), skipped.get());
+        } catch (Exception e) {
+            outcome = "failed";
+            registryImportStatus.failed(e);
+            log.error("Error loading Excel data: {}", e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("swift.import").description("Registry import duration")
+                    .tag("outcome", outcome).register(meterRegistry));
+        }
+    }
+
+    //Parses the sources; with the snapshot enabled every chunk is also appended to a new snapshot as it is written.
+    private int importRows(List<Resource> resources, String hash, AtomicInteger skipped) {
+        RegistrySnapshotFile.Writer snapshot = registrySnapshotFile.isEnabled() ? registrySnapshotFile.writer(hash) : null;
+        try (snapshot) {
+            Set<String> imported = new HashSet<>();
+            List<String> changed = new ArrayList<>();
+            int written = registryImportEngine.read(resources, swiftCodeBatchWriter.getBatchSize(), chunk -> {
+                if (snapshot != null) {
+                    snapshot.append(chunk);
+                }
+                return writeChunk(chunk, imported, changed);
+            }, skipped);
+            if (snapshot != null) {
+                snapshot.commit();
             }
-            workbook.close();
+            List<SwiftCode> deleted = deleteMissing(imported);
+            swiftCodeChangeLog.upserted(changed);
+            swiftCodeChangeLog.deleted(deleted);
+            return written;
+        } catch (RuntimeException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("Error loading Excel data: " + e.getMessage());
+            throw new IllegalStateException("Registry import failed: " + e.getMessage(), e);
+        }
+    }
+
+    //Replays the snapshot's chunks; if it was replaced or removed since it was checked, the sources are parsed.
+    private int importSnapshot(List<Resource> resources, String hash, AtomicInteger skipped) {
+        Set<String> imported = new HashSet<>();
+        List<String> changed = new ArrayList<>();
+        int written = registrySnapshotFile.read(hash, chunk -> writeChunk(chunk, imported, changed));
+        if (written < 0) {
+            return importRows(resources, hash, skipped);
+        }
+        List<SwiftCode> deleted = deleteMissing(imported);
+        swiftCodeChangeLog.upserted(changed);
+        swiftCodeChangeLog.deleted(deleted);
+        return written;
+    }
+
+    //Rows that really change are collected for the change log, which is written once at the end of the import.
+    private int writeChunk(Collection<SwiftCode> chunk, Set<String> imported, List<String> changed) {
+        //Known to the filter before the import commits; the filter is rebuilt exactly once it has
+        swiftCodeBloomFilter.add(chunk.stream().map(SwiftCode::getSwiftCode).toList());
+        changed.addAll(swiftCodeChangeLog.changedCodes(chunk));
+        int rows = swiftCodeBatchWriter.upsert(chunk);
+        if (deleteMissing) {
+            chunk.forEach(code -> imported.add(code.getSwiftCode()));
+        }
+        registryImportStatus.progress(rows);
+        return rows;
+    }
+
+    //Returns the deleted rows for the change log, which is written after all row changes.
+    private List<SwiftCode> deleteMissing(Set<String> imported) {
+        if (!deleteMissing) {
+            return List.of();
+        }
+        List<String> stale = swiftCodeBatchWriter.findAllCodes().stream()
+                .filter(code -> !imported.contains(code))
+                .toList();
+        if (!stale.isEmpty()) {
+            log.info("Deleting {} SWIFT codes no longer present in the registry sources", stale.size());
+            return swiftCodeBatchWriter.deleteReturning(stale);
+        }
+        return List.of();
+    }
+
+    //SHA-256 over the raw bytes of every source in order, so adding, removing or editing any of them re-imports.
+    //A single source hashes to the digest of its bytes alone, matching the state stored by earlier versions.
+    private String contentHash(List<Resource> resources) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (Resource resource : resources) {
+            if (resources.size() > 1) {
+                digest.update(String.valueOf(resource.getFilename()).getBytes(StandardCharsets.UTF_8));
+            }
+            try (InputStream in = new DigestInputStream(resource.getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
         }
+        return HexFormat.of().formatHex(digest.digest());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package swiftcodes.service.app;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+//Reads SWIFT registry sheets with the POI event (SAX) API, so only the current row is kept in memory.
+@Component
+public class ExcelStreamingReader {
+
+    //Streams every data row of the first sheet to the consumer and returns the number of rows emitted.
+    public int read(Resource resource, Consumer<SwiftCode> consumer) throws Exception {
+        return read(resource, 0, consumer, new AtomicInteger());
+    }
+
+    public int read(Resource resource, Consumer<SwiftCode> consumer, AtomicInteger skipped) throws Exception {
+        return read(resource, 0, consumer, skipped);
+    }
+
+    //Streams the data rows of one sheet (0-based). Every sheet has its own header row.
+    //Each call opens its own package, so different sheets of one workbook can be read from different threads.
+    //Rows without a structurally valid SWIFT code are not emitted but counted in skipped.
+    public int read(Resource resource, int sheetIndex, Consumer<SwiftCode> consumer, AtomicInteger skipped)
+            throws Exception {
+        try (OPCPackage pkg = open(resource)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            for (int i = 0; sheets.hasNext(); i++) {
+                try (InputStream sheet = sheets.next()) {
+                    if (i < sheetIndex) {
+                        continue;
+                    }
+                    RowHandler handler = new RowHandler(consumer);
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(),
+                            new ReadOnlySharedStringsTable(pkg), handler, new DataFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                    RegistryRow.reportSkipped(resource.getFilename() + " sheet " + (sheetIndex + 1), handler.skipped);
+                    skipped.addAndGet(handler.skipped);
+                    return handler.emitted;
+                }
+            }
+            return 0;
+        }
+    }
+
+    public int sheetCount(Resource resource) throws Exception {
+        try (OPCPackage pkg = open(resource)) {
+            int count = 0;
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                count++;
+            }
+            return count;
+        }
+    }
+
+    //Opening by path lets POI read the zip entries lazily instead of buffering the whole package.
+    private static OPCPackage open(Resource resource) throws Exception {
+        return resource.isFile()
+                ? OPCPackage.open(resource.getFile(), PackageAccess.READ)
+                : OPCPackage.open(resource.getInputStream());
+    }
+
+    private static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Consumer<SwiftCode> consumer;
+        private final String[] cells = new String[RegistryRow.COLUMN_COUNT];
+        private int currentCol;
+        private int emitted;
+        private int skipped;
+
+        RowHandler(Consumer<SwiftCode> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, null);
+            currentCol = -1;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            //Blank cells are not reported, so the column comes from the reference rather than the call order.
+            currentCol = cellReference == null ? currentCol + 1 : new CellReference(cellReference).getCol();
+            if (currentCol < RegistryRow.COLUMN_COUNT) {
+                cells[currentCol] = formattedValue == null ? null : formattedValue.trim();
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == 0) { //Skip header
+                return;
+            }
+            SwiftCode code = RegistryRow.toSwiftCode(cells);
+            if (code == null) {
+                RegistryRow.logSkipped(rowNum + 1, cells);
+                skipped++;
+                return;
+            }
+            consumer.accept(code);
+            emitted++;
+        }
+    }
+}
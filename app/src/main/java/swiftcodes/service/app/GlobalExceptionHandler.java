@@ -1,5 +1,9 @@
 package swiftcodes.service.app;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -11,23 +15,36 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @ExceptionHandler(APIException.class)
     public ResponseEntity<ErrorResponse> handleApiException(APIException ex) {
         HttpStatus status = HttpStatus.BAD_REQUEST;
         if (ex.getErrorCode().equals("ERR-404")) {
             status = HttpStatus.NOT_FOUND;
         }
+        countError(ex.getErrorCode(), status);
         ErrorResponse errorResponse = new ErrorResponse(ex.getErrorCode(), ex.getMessage());
         return new ResponseEntity<>(errorResponse, status);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
-        ex.printStackTrace();
+        log.error("Unhandled exception", ex);
+        countError("ERR-500", HttpStatus.INTERNAL_SERVER_ERROR);
         Map<String, String> errorResponse = new LinkedHashMap<>();
         errorResponse.put("error_code", "ERR-500");
         errorResponse.put("message", "An unexpected error occurred. Please try again later.");
 
         return ResponseEntity.internalServerError().body(errorResponse);
     }
+
+    //swift.api.errors{error_code, status}; the 404 rate is this counter over http.server.requests
+    private void countError(String errorCode, HttpStatus status) {
+        meterRegistry.counter("swift.api.errors", "error_code", errorCode, "status", String.valueOf(status.value()))
+                .increment();
+    }
 }
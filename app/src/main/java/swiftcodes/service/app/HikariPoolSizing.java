@@ -0,0 +1,49 @@
+package swiftcodes.service.app;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+//Sizes the Hikari pool from database capacity in the prod profile: swift.db.pool-size if set, otherwise
+//db cores * 2 + effective spindles (HikariCP's pool sizing rule), with this host's cores when the DB's are not given.
+//An explicit spring.datasource.hikari.maximum-pool-size (e.g. from the virtual profile) is left alone.
+@Component
+@Profile("prod")
+public class HikariPoolSizing implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(HikariPoolSizing.class);
+
+    private final Environment environment;
+    private final int poolSize;
+    private final int dbCores;
+    private final int effectiveSpindles;
+
+    public HikariPoolSizing(Environment environment,
+                            @Value("${swift.db.pool-size:0}") int poolSize,
+                            @Value("${swift.db.cores:0}") int dbCores,
+                            @Value("${swift.db.effective-spindles:1}") int effectiveSpindles) {
+        this.environment = environment;
+        this.poolSize = poolSize;
+        this.dbCores = dbCores;
+        this.effectiveSpindles = effectiveSpindles;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource
+                && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+            int size = poolSize > 0
+                    ? poolSize
+                    : (dbCores > 0 ? dbCores : Runtime.getRuntime().availableProcessors()) * 2 + effectiveSpindles;
+            dataSource.setMaximumPoolSize(size);
+            dataSource.setMinimumIdle(size);
+            log.info("Hikari pool sized to {} connections", size);
+        }
+        return bean;
+    }
+}
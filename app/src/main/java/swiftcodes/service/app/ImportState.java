@@ -0,0 +1,51 @@
+package swiftcodes.service.app;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+//Remembers what was last imported from a registry source, so unchanged workbooks are not replayed.
+@Entity
+@Table(name = "registry_import_state")
+public class ImportState {
+
+    @Id
+    @Column(name = "source")
+    private String source;
+
+    @Column(name = "contentHash", nullable = false)
+    private String contentHash;
+
+    @Column(name = "rowCount")
+    private Integer rowCount;
+
+    @Column(name = "importedAt")
+    private LocalDateTime importedAt;
+
+    protected ImportState() {
+    }
+
+    public ImportState(String source, String contentHash, int rowCount) {
+        this.source = source;
+        this.contentHash = contentHash;
+        this.rowCount = rowCount;
+        this.importedAt = LocalDateTime.now();
+    }
+
+    //Getters
+    public String getSource() {
+        return source;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public Integer getRowCount() {
+        return rowCount;
+    }
+
+    public LocalDateTime getImportedAt() {
+        return importedAt;
+    }
+}
@@ -0,0 +1,6 @@
+package swiftcodes.service.app;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportStateRepository extends JpaRepository<ImportState, String> {
+}
@@ -0,0 +1,170 @@
+package swiftcodes.service.app;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+//Serves registry reads from a RegistrySnapshot without touching the database.
+//Enabled with swift.registry.in-memory=true, SwiftCodeService writes through to it after each repository change.
+@Component
+@ConditionalOnProperty(name = "swift.registry.in-memory", havingValue = "true")
+public class InMemoryRegistryStore implements RegistryStore, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryRegistryStore.class);
+
+    @Autowired
+    private SwiftCodeRepository swiftCodeRepository;
+
+    //Readers only ever dereference this field once per call, so they never see a half-applied change.
+    private volatile RegistrySnapshot snapshot = RegistrySnapshot.EMPTY;
+
+    //Serializes writers; each write merges its rows into a copy of the snapshot (RegistrySnapshot.with), no re-sort.
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    //Rebuilds the snapshot from PostgreSQL, e.g. after the startup import.
+    public void reload() {
+        long start = System.nanoTime();
+        replaceAll(swiftCodeRepository.findAll());
+        RegistrySnapshot current = snapshot;
+        log.info("Loaded {} SWIFT codes into memory in {} ms (~{} KiB heap)", current.size(),
+                (System.nanoTime() - start) / 1_000_000, current.estimatedHeapBytes() / 1024);
+    }
+
+    //Filled from what PostgreSQL already holds before the startup import runs, so lookups are served while an async
+    //import is still running and after a failed one.
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    //Rebuilt after every import that wrote rows. Readers keep the previous snapshot until the new one is swapped in.
+    @EventListener
+    public void onRegistryReloaded(RegistryReloadedEvent event) {
+        if (event.changed()) {
+            reload();
+        }
+    }
+
+    @Override
+    public SwiftCode findBySwiftCode(String swiftCode) {
+        RegistrySnapshot current = snapshot;
+        int row = current.indexOf(swiftCode);
+        return row < 0 ? null : current.toSwiftCode(row);
+    }
+
+    @Override
+    public List<SwiftCodeView> findByCountryISO2(String countryISO2) {
+        RegistrySnapshot current = snapshot;
+        int[] rows = current.rowsForCountry(countryISO2);
+        List<SwiftCodeView> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(current.toView(row));
+        }
+        return result;
+    }
+
+    @Override
+    public List<SwiftCodeView> findByCountryISO2(String countryISO2, String after, int limit) {
+        RegistrySnapshot current = snapshot;
+        int[] rows = current.rowsForCountry(countryISO2);
+        int from = after == null || after.isEmpty() ? 0 : current.firstAfter(rows, after);
+        int to = Math.min(rows.length, from + limit);
+        List<SwiftCodeView> result = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            result.add(current.toView(rows[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public List<SwiftCodeView> findBranchesByPrefix(String prefix) {
+        RegistrySnapshot current = snapshot;
+        List<SwiftCodeView> result = new ArrayList<>();
+        int row = current.firstWithPrefix(prefix);
+        if (row < 0) {
+            return result;
+        }
+        for (; current.hasPrefix(row, prefix); row++) {
+            if (!current.isHeadquarter(row)) {
+                result.add(current.toView(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void put(SwiftCode code) {
+        update(List.of(RegistrySnapshot.Entry.of(code)), Set.of());
+    }
+
+    @Override
+    public void remove(String swiftCode) {
+        update(List.of(), Set.of(swiftCode));
+    }
+
+    @Override
+    public void putAll(Collection<SwiftCode> codes) {
+        update(codes.stream().map(RegistrySnapshot.Entry::of).toList(), Set.of());
+    }
+
+    @Override
+    public void removeAll(Collection<String> swiftCodes) {
+        update(List.of(), Set.copyOf(swiftCodes));
+    }
+
+    @Override
+    public void replaceAll(Collection<SwiftCode> codes) {
+        List<RegistrySnapshot.Entry> entries = new ArrayList<>(codes.size());
+        for (SwiftCode code : codes) {
+            entries.add(RegistrySnapshot.Entry.of(code));
+        }
+        writeLock.lock();
+        try {
+            snapshot = RegistrySnapshot.build(entries);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+
+    public long estimatedHeapBytes() {
+        return snapshot.estimatedHeapBytes();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("swift.registry.size", this, InMemoryRegistryStore::size)
+                .description("SWIFT codes held in memory")
+                .register(registry);
+        Gauge.builder("swift.registry.heap", this, InMemoryRegistryStore::estimatedHeapBytes)
+                .description("Estimated heap used by the in-memory registry")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void update(Collection<RegistrySnapshot.Entry> upserts, Set<String> removals) {
+        writeLock.lock();
+        try {
+            snapshot = snapshot.with(upserts, removals);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
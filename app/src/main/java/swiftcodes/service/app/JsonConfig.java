@@ -0,0 +1,48 @@
+package swiftcodes.service.app;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.MimeType;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Configuration
+public class JsonConfig {
+
+    //?pretty (or ?pretty=true) asks for indented JSON, responses are compact otherwise
+    public static final String PRETTY_PARAM = "pretty";
+
+    //Registered with Boot's ObjectMapper: property access through generated lambdas instead of reflection
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    //Replaces Boot's converter: same ObjectMapper, indentation decided per request
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType, JavaType javaType) {
+                return prettyRequested() ? writer.with(SerializationFeature.INDENT_OUTPUT) : writer;
+            }
+        };
+    }
+
+    //False outside a request thread, e.g. for Server-Sent Events written by the change feed dispatcher
+    public static boolean prettyRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        String value = servletAttributes.getRequest().getParameter(PRETTY_PARAM);
+        return value != null && !value.equalsIgnoreCase("false");
+    }
+}
@@ -0,0 +1,154 @@
+package swiftcodes.service.app;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+//Re-imports the registry when a file source changes on disk (swift.import.watch=true).
+//Watches the directories of the file-based swift.import.sources; the import itself is ExcelLoaderService's,
+//so an unchanged file is skipped by its content hash and a changed one is swapped in with one commit.
+@Component
+@ConditionalOnProperty(name = "swift.import.watch", havingValue = "true")
+public class RegistryFileWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistryFileWatcher.class);
+
+    @Autowired
+    private ExcelLoaderService excelLoaderService;
+
+    @Value("${swift.import.sources:classpath:SWIFT_CODES.xlsx}")
+    private List<String> sources;
+
+    //Quiet period after the last file event before importing, a copy usually arrives as several events.
+    @Value("${swift.import.watch-debounce:PT5S}")
+    private Duration debounce;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    //Directory sources, where every supported file counts, and single file sources; both as absolute paths
+    private final Set<Path> sourceDirectories = new LinkedHashSet<>();
+    private final Set<Path> sourceFiles = new LinkedHashSet<>();
+
+    @PostConstruct
+    public void start() throws IOException {
+        Set<Path> directories = watchedDirectories();
+        if (directories.isEmpty()) {
+            log.warn("swift.import.watch is enabled but no registry source is a file on disk, nothing to watch");
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : directories) {
+            directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            log.info("Watching {} for registry updates", directory);
+        }
+        thread = Thread.ofPlatform().name("registry-watch").daemon().start(this::watch);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            thread.interrupt();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                if (awaitChange(watchService)) {
+                    log.info("Registry source changed on disk, reloading");
+                    excelLoaderService.loadExcelData();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            //Shutting down
+        }
+    }
+
+    //Blocks for the next file event, then keeps collecting events until none arrived for the debounce period,
+    //so a burst of writes ends in one import. Returns whether any of them concerns a registry source.
+    boolean awaitChange(WatchService service) throws InterruptedException {
+        boolean changed = drain(service.take());
+        WatchKey next;
+        while ((next = service.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+            changed |= drain(next);
+        }
+        return changed;
+    }
+
+    //Consumes the key's events and reports whether any of them concerns a registry source.
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                relevant = true;
+            } else if (event.context() instanceof Path name && isSource(directory, name)) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    //Other files next to a single file source, e.g. an Excel lock file or an unrelated workbook, are ignored.
+    private boolean isSource(Path directory, Path name) {
+        if (sourceDirectories.contains(directory) && RegistryImportEngine.isSupported(name.toString())) {
+            return true;
+        }
+        return sourceFiles.contains(directory.resolve(name));
+    }
+
+    //Also records the source directories and files the events are matched against.
+    Set<Path> watchedDirectories() throws IOException {
+        FileSystemResourceLoader resourceLoader = new FileSystemResourceLoader();
+        Set<Path> directories = new LinkedHashSet<>();
+        for (String location : sources) {
+            if (location.isBlank()) {
+                continue;
+            }
+            Resource resource = resourceLoader.getResource(location.trim());
+            if (!resource.isFile()) {
+                continue;
+            }
+            File file = resource.getFile();
+            Path directory = file.isDirectory() ? file.toPath() : file.toPath().getParent();
+            if (directory != null && directory.toFile().isDirectory()) {
+                directories.add(directory.toAbsolutePath());
+                if (file.isDirectory()) {
+                    sourceDirectories.add(directory.toAbsolutePath());
+                } else {
+                    sourceFiles.add(file.toPath().toAbsolutePath());
+                }
+            }
+        }
+        return directories;
+    }
+}
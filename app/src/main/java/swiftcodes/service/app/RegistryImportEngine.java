@@ -0,0 +1,186 @@
+package swiftcodes.service.app;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+//Reads the registry from several workbooks (every sheet) and CSV files.
+//Each sheet or CSV file is parsed as its own task on a bounded fork-join pool; the parsed rows are
+//de-duplicated by SWIFT code and handed to one writer in chunks, so the database sees a single batched stream.
+@Component
+public class RegistryImportEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistryImportEngine.class);
+
+    @Autowired
+    private ExcelStreamingReader excelStreamingReader;
+
+    @Autowired
+    private CsvRegistryReader csvRegistryReader;
+
+    private final ResourceLoader resourceLoader = new FileSystemResourceLoader();
+
+    //Parser threads, 0 means one per available core
+    @Value("${swift.import.parallelism:0}")
+    private int parallelism;
+
+    //Resolves configured locations (classpath:, file: or plain paths) to readable sources.
+    //A directory expands to its .xlsx and .csv files in name order.
+    public List<Resource> resolve(List<String> locations) throws IOException {
+        List<Resource> resources = new ArrayList<>();
+        for (String location : locations) {
+            if (location.isBlank()) {
+                continue;
+            }
+            Resource resource = resourceLoader.getResource(location.trim());
+            if (resource.isFile() && resource.getFile().isDirectory()) {
+                File[] files = resource.getFile().listFiles(file -> file.isFile() && isSupported(file.getName()));
+                if (files != null) {
+                    Arrays.sort(files, Comparator.comparing(File::getName));
+                    for (File file : files) {
+                        resources.add(new FileSystemResource(file));
+                    }
+                }
+            } else if (!resource.exists()) {
+                throw new IOException("Registry source not found: " + location);
+            } else if (!isSupported(resource.getFilename())) {
+                throw new IOException("Unsupported registry source (expected .xlsx or .csv): " + location);
+            } else {
+                resources.add(resource);
+            }
+        }
+        return resources;
+    }
+
+    public int read(List<Resource> resources, int chunkSize, ChunkWriter writer) throws Exception {
+        return read(resources, chunkSize, writer, new AtomicInteger());
+    }
+
+    //Reads all sources and passes the de-duplicated rows to the writer in chunks of at most chunkSize.
+    //For a repeated code the row from the later source wins, so CSV deltas listed after the workbooks apply last.
+    //Rows without a structurally valid SWIFT code are counted in skipped.
+    //Returns the number of rows the writer reported as written.
+    public int read(List<Resource> resources, int chunkSize, ChunkWriter writer, AtomicInteger skipped)
+            throws Exception {
+        if (resources.size() == 1 && !isWorkbook(resources.get(0))) {
+            return readSequential(resources.get(0), chunkSize, writer, skipped);
+        }
+        List<Callable<Map<String, SwiftCode>>> tasks = new ArrayList<>();
+        for (Resource resource : resources) {
+            if (isWorkbook(resource)) {
+                int sheets = excelStreamingReader.sheetCount(resource);
+                if (resources.size() == 1 && sheets == 1) {
+                    //Nothing to parallelize, keep the constant-memory streaming path
+                    return readSequential(resource, chunkSize, writer, skipped);
+                }
+                for (int sheet = 0; sheet < sheets; sheet++) {
+                    int index = sheet;
+                    tasks.add(() -> parse(consumer -> excelStreamingReader.read(resource, index, consumer, skipped)));
+                }
+            } else {
+                tasks.add(() -> parse(consumer -> csvRegistryReader.read(resource, consumer, skipped)));
+            }
+        }
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(Math.min(threads, Math.max(tasks.size(), 1)));
+        Map<String, SwiftCode> merged = new LinkedHashMap<>();
+        try {
+            //Futures come back in task order, merging them in that order keeps "last source wins" deterministic
+            for (Future<Map<String, SwiftCode>> parsed : pool.invokeAll(tasks)) {
+                merged.putAll(parsed.get());
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("Parsed {} unique SWIFT codes from {} sources ({} parse tasks on {} threads)",
+                merged.size(), resources.size(), tasks.size(), pool.getParallelism());
+
+        int written = 0;
+        List<SwiftCode> chunk = new ArrayList<>(chunkSize);
+        for (SwiftCode code : merged.values()) {
+            chunk.add(code);
+            if (chunk.size() >= chunkSize) {
+                written += writer.write(chunk);
+                chunk.clear();
+            }
+        }
+        return written + writer.write(chunk);
+    }
+
+    //Rows are buffered only up to one chunk, so memory stays flat regardless of the source size.
+    //The chunk is keyed by code so a code repeated in the source is upserted once, last row wins.
+    private int readSequential(Resource resource, int chunkSize, ChunkWriter writer, AtomicInteger skipped)
+            throws Exception {
+        Map<String, SwiftCode> chunk = new LinkedHashMap<>();
+        int[] written = {0};
+        Consumer<SwiftCode> consumer = code -> {
+            chunk.put(code.getSwiftCode(), code);
+            if (chunk.size() >= chunkSize) {
+                written[0] += writer.write(chunk.values());
+                chunk.clear();
+            }
+        };
+        if (isWorkbook(resource)) {
+            excelStreamingReader.read(resource, consumer, skipped);
+        } else {
+            csvRegistryReader.read(resource, consumer, skipped);
+        }
+        return written[0] + writer.write(chunk.values());
+    }
+
+    private static Map<String, SwiftCode> parse(SourceReader reader) throws Exception {
+        Map<String, SwiftCode> rows = new LinkedHashMap<>();
+        reader.read(code -> rows.put(code.getSwiftCode(), code));
+        return rows;
+    }
+
+    private static boolean isWorkbook(Resource resource) {
+        String name = resource.getFilename();
+        return name != null && name.toLowerCase(Locale.ROOT).endsWith(".xlsx");
+    }
+
+    //Registry files by extension; Excel's "~$" lock files next to an open workbook are not.
+    static boolean isSupported(String name) {
+        if (name == null || name.startsWith("~$")) {
+            return false;
+        }
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".xlsx") || lower.endsWith(".csv");
+    }
+
+    @FunctionalInterface
+    public interface ChunkWriter {
+        int write(Collection<SwiftCode> chunk);
+    }
+
+    @FunctionalInterface
+    private interface SourceReader {
+        int read(Consumer<SwiftCode> consumer) throws Exception;
+    }
+}
@@ -0,0 +1,105 @@
+package swiftcodes.service.app;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Progress of the registry import, exposed as the "registryImport" health contributor (part of the readiness group).
+//The instance is out of service until the first import has committed; a later refresh keeps it up,
+//since readers are served the previous, committed registry until the refresh commits.
+@Component("registryImport")
+public class RegistryImportStatus implements HealthIndicator {
+
+    public enum State {PENDING, RUNNING, READY, FAILED}
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile State state = State.PENDING;
+    private volatile boolean loaded;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String outcome;
+    private volatile String error;
+
+    //Returns false if an import is already running.
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        rowsWritten.set(0);
+        startedAt = Instant.now();
+        finishedAt = null;
+        error = null;
+        state = State.RUNNING;
+        return true;
+    }
+
+    public void progress(int rows) {
+        rowsWritten.addAndGet(rows);
+    }
+
+    public void finished(String outcome) {
+        this.outcome = outcome;
+        finishedAt = Instant.now();
+        loaded = true;
+        state = State.READY;
+        running.set(false);
+    }
+
+    //Only the exception type is exposed, the message (e.g. a JDBC URL or a file path) stays in the log.
+    public void failed(Exception e) {
+        outcome = "failed";
+        error = e.getClass().getSimpleName();
+        finishedAt = Instant.now();
+        state = State.FAILED;
+        running.set(false);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    //True once an import has committed, i.e. the registry is consistent.
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("state", state);
+        details.put("rowsWritten", rowsWritten.get());
+        if (startedAt != null) {
+            details.put("startedAt", startedAt.toString());
+        }
+        if (finishedAt != null) {
+            details.put("finishedAt", finishedAt.toString());
+        }
+        if (outcome != null) {
+            details.put("lastOutcome", outcome);
+        }
+        if (error != null) {
+            details.put("error", error);
+        }
+
+        Health.Builder health;
+        if (loaded) {
+            health = Health.up();
+        } else if (state == State.FAILED) {
+            health = Health.down();
+        } else {
+            health = Health.outOfService();
+        }
+        return health.withDetails(details).build();
+    }
+}
@@ -0,0 +1,6 @@
+package swiftcodes.service.app;
+
+//Published by ExcelLoaderService after an import finished and is committed.
+//changed is false when the sources were unchanged and nothing was written.
+public record RegistryReloadedEvent(boolean changed, int rowCount) {
+}
@@ -0,0 +1,50 @@
+package swiftcodes.service.app;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+//Column layout shared by the registry workbook sheets and CSV files:
+//COUNTRY ISO2 CODE, SWIFT CODE, CODE TYPE, NAME, ADDRESS, TOWN NAME, COUNTRY NAME, TIME ZONE
+public final class RegistryRow {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistryRow.class);
+
+    public static final int COL_COUNTRY_ISO2 = 0;
+    public static final int COL_SWIFT_CODE = 1;
+    public static final int COL_BANK_NAME = 3;
+    public static final int COL_ADDRESS = 4;
+    public static final int COL_COUNTRY_NAME = 6;
+    public static final int COLUMN_COUNT = 7;
+
+    private RegistryRow() {
+    }
+
+    //Maps one data row to a SwiftCode, or returns null when the row has no structurally valid SWIFT code.
+    public static SwiftCode toSwiftCode(String[] cells) {
+        String swiftCode = cells[COL_SWIFT_CODE];
+        long bic = Bic.encode(swiftCode);
+        if (bic == Bic.INVALID) {
+            return null;
+        }
+        SwiftCode code = new SwiftCode();
+        code.setCountryISO2(cells[COL_COUNTRY_ISO2]);
+        code.setSwiftCode(swiftCode);
+        code.setBankName(cells[COL_BANK_NAME]);
+        code.setAddress(cells[COL_ADDRESS]);
+        code.setCountryName(cells[COL_COUNTRY_NAME]);
+        code.setIsHeadquarter(Bic.isHeadquarter(bic));
+        return code;
+    }
+
+    //Each skipped row at debug level, 1-based row or line number as shown by a spreadsheet or an editor.
+    static void logSkipped(int row, String[] cells) {
+        log.debug("Skipping registry row {}: no valid SWIFT code in '{}'", row, cells[COL_SWIFT_CODE]);
+    }
+
+    //One line per source with rows skipped by toSwiftCode.
+    static void reportSkipped(String source, int skipped) {
+        if (skipped > 0) {
+            log.warn("Skipped {} rows of {} without a structurally valid SWIFT code", skipped, source);
+        }
+    }
+}
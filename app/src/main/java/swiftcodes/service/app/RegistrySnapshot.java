@@ -0,0 +1,406 @@
+package swiftcodes.service.app;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+//Immutable, densely packed copy of the registry.
+//Codes are stored as fixed 11-byte ASCII keys (8-character codes padded with spaces) in one sorted byte[],
+//every text field is an index into a de-duplicated string table, and the HQ flag is a bit.
+public final class RegistrySnapshot {
+
+    public static final int KEY_LENGTH = 11;
+    private static final byte PAD = ' ';
+
+    //Plain value used to build snapshots and to carry rows out of them.
+    public record Entry(String swiftCode, String bankName, String address,
+                        String countryISO2, String countryName, boolean isHeadquarter) {
+
+        static Entry of(SwiftCode code) {
+            return new Entry(code.getSwiftCode(), code.getBankName(), code.getAddress(),
+                    code.getCountryISO2(), code.getCountryName(), Boolean.TRUE.equals(code.getIsHeadquarter()));
+        }
+    }
+
+    public static final RegistrySnapshot EMPTY = build(List.of());
+
+    private final int size;
+    private final byte[] keys;
+    private final int[] bankNames;
+    private final int[] addresses;
+    private final int[] countryISO2s;
+    private final int[] countryNames;
+    private final BitSet headquarters;
+    private final String[] strings;
+    //Sorted row numbers per country code
+    private final Map<String, int[]> countries;
+    //Size of the string table when the snapshot was last fully built; with() appends after it
+    private final int builtStrings;
+
+    private RegistrySnapshot(int size, byte[] keys, int[] bankNames, int[] addresses, int[] countryISO2s,
+                             int[] countryNames, BitSet headquarters, String[] strings, Map<String, int[]> countries,
+                             int builtStrings) {
+        this.size = size;
+        this.keys = keys;
+        this.bankNames = bankNames;
+        this.addresses = addresses;
+        this.countryISO2s = countryISO2s;
+        this.countryNames = countryNames;
+        this.headquarters = headquarters;
+        this.strings = strings;
+        this.countries = countries;
+        this.builtStrings = builtStrings;
+    }
+
+    //Codes that are not 1-11 ASCII characters are skipped, they could never be looked up.
+    public static RegistrySnapshot build(Collection<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (isStorable(entry.swiftCode())) {
+                sorted.add(entry);
+            }
+        }
+        sorted.sort(Comparator.comparing(Entry::swiftCode, RegistrySnapshot::compareCodes));
+
+        //Drop duplicate codes, the last one given wins
+        List<Entry> unique = new ArrayList<>(sorted.size());
+        for (Entry entry : sorted) {
+            if (!unique.isEmpty() && compareCodes(unique.getLast().swiftCode(), entry.swiftCode()) == 0) {
+                unique.set(unique.size() - 1, entry);
+            } else {
+                unique.add(entry);
+            }
+        }
+
+        int n = unique.size();
+        byte[] keys = new byte[n * KEY_LENGTH];
+        int[] bankNames = new int[n];
+        int[] addresses = new int[n];
+        int[] countryISO2s = new int[n];
+        int[] countryNames = new int[n];
+        BitSet headquarters = new BitSet(n);
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        Map<String, List<Integer>> countryRows = new LinkedHashMap<>();
+
+        for (int row = 0; row < n; row++) {
+            Entry entry = unique.get(row);
+            Arrays.fill(keys, row * KEY_LENGTH, (row + 1) * KEY_LENGTH, PAD);
+            byte[] code = entry.swiftCode().getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(code, 0, keys, row * KEY_LENGTH, code.length);
+            bankNames[row] = intern(entry.bankName(), stringIds, strings);
+            addresses[row] = intern(entry.address(), stringIds, strings);
+            countryISO2s[row] = intern(entry.countryISO2(), stringIds, strings);
+            countryNames[row] = intern(entry.countryName(), stringIds, strings);
+            headquarters.set(row, entry.isHeadquarter());
+            if (entry.countryISO2() != null) {
+                countryRows.computeIfAbsent(entry.countryISO2().toUpperCase(), k -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Map<String, int[]> countries = new HashMap<>();
+        countryRows.forEach((country, rows) -> countries.put(country, rows.stream().mapToInt(Integer::intValue).toArray()));
+        return new RegistrySnapshot(n, keys, bankNames, addresses, countryISO2s, countryNames, headquarters,
+                strings.toArray(new String[0]), countries, strings.size());
+    }
+
+    //Returns a new snapshot with the given rows added or replaced and the given codes removed.
+    //The sorted changes are merged into the sorted rows in one pass: unchanged rows are copied in runs and keep their
+    //string ids, only new values are appended to the string table. Orphaned strings are dropped by a full rebuild once
+    //enough have accumulated.
+    public RegistrySnapshot with(Collection<Entry> upserts, Set<String> removals) {
+        TreeMap<String, Entry> changes = new TreeMap<>(RegistrySnapshot::compareCodes);
+        removals.stream().filter(RegistrySnapshot::isStorable).forEach(code -> changes.put(code, null));
+        upserts.stream().filter(entry -> isStorable(entry.swiftCode())).forEach(entry -> changes.put(entry.swiftCode(), entry));
+        if (changes.isEmpty()) {
+            return this;
+        }
+
+        int capacity = size + changes.size();
+        byte[] newKeys = new byte[capacity * KEY_LENGTH];
+        int[] newBankNames = new int[capacity];
+        int[] newAddresses = new int[capacity];
+        int[] newCountryISO2s = new int[capacity];
+        int[] newCountryNames = new int[capacity];
+        BitSet newHeadquarters = new BitSet(capacity);
+        List<String> newStrings = new ArrayList<>(Arrays.asList(strings));
+
+        int from = 0;
+        int to = 0;
+        for (Map.Entry<String, Entry> change : changes.entrySet()) {
+            int position = lowerBound(from, change.getKey());
+            copyRows(from, position, to, newKeys, newBankNames, newAddresses, newCountryISO2s, newCountryNames, newHeadquarters);
+            to += position - from;
+            from = position < size && compareKey(position, change.getKey(), KEY_LENGTH) == 0 ? position + 1 : position;
+            Entry entry = change.getValue();
+            if (entry != null) {
+                Arrays.fill(newKeys, to * KEY_LENGTH, (to + 1) * KEY_LENGTH, PAD);
+                byte[] code = entry.swiftCode().getBytes(StandardCharsets.US_ASCII);
+                System.arraycopy(code, 0, newKeys, to * KEY_LENGTH, code.length);
+                newBankNames[to] = append(entry.bankName(), newStrings);
+                newAddresses[to] = append(entry.address(), newStrings);
+                newCountryISO2s[to] = append(entry.countryISO2(), newStrings);
+                newCountryNames[to] = append(entry.countryName(), newStrings);
+                newHeadquarters.set(to, entry.isHeadquarter());
+                to++;
+            }
+        }
+        copyRows(from, size, to, newKeys, newBankNames, newAddresses, newCountryISO2s, newCountryNames, newHeadquarters);
+        to += size - from;
+
+        String[] stringTable = newStrings.toArray(new String[0]);
+        RegistrySnapshot merged = new RegistrySnapshot(to, Arrays.copyOf(newKeys, to * KEY_LENGTH),
+                Arrays.copyOf(newBankNames, to), Arrays.copyOf(newAddresses, to), Arrays.copyOf(newCountryISO2s, to),
+                Arrays.copyOf(newCountryNames, to), newHeadquarters, stringTable,
+                indexCountries(to, newCountryISO2s, stringTable), builtStrings);
+        //Every write appends its strings; rebuild once they outnumber a quarter of the rows
+        if (stringTable.length - builtStrings > to / 4 + 64) {
+            return build(merged.entries());
+        }
+        return merged;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int indexOf(CharSequence swiftCode) {
+        if (!isStorable(swiftCode)) {
+            return -1;
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareKey(mid, swiftCode, KEY_LENGTH);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    //First row whose key starts with the prefix, or -1. Rows sharing the prefix are contiguous from there.
+    public int firstWithPrefix(CharSequence prefix) {
+        int length = Math.min(prefix.length(), KEY_LENGTH);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(mid, prefix, length) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < size && compareKey(low, prefix, length) == 0 ? low : -1;
+    }
+
+    public boolean hasPrefix(int row, CharSequence prefix) {
+        return row < size && compareKey(row, prefix, Math.min(prefix.length(), KEY_LENGTH)) == 0;
+    }
+
+    //A copy, the snapshot's own index stays immutable
+    public int[] rowsForCountry(String countryISO2) {
+        int[] rows = countries.get(countryISO2);
+        return rows == null ? new int[0] : rows.clone();
+    }
+
+    //Position in the (code-sorted) rows array of the first row whose code sorts after the given code.
+    public int firstAfter(int[] rows, CharSequence swiftCode) {
+        int low = 0;
+        int high = rows.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(rows[mid], swiftCode, KEY_LENGTH) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public boolean isHeadquarter(int row) {
+        return headquarters.get(row);
+    }
+
+    public String swiftCode(int row) {
+        int offset = row * KEY_LENGTH;
+        int length = KEY_LENGTH;
+        while (length > 0 && keys[offset + length - 1] == PAD) {
+            length--;
+        }
+        return new String(keys, offset, length, StandardCharsets.US_ASCII);
+    }
+
+    public Entry entry(int row) {
+        return new Entry(swiftCode(row), string(bankNames[row]), string(addresses[row]),
+                string(countryISO2s[row]), string(countryNames[row]), headquarters.get(row));
+    }
+
+    public SwiftCode toSwiftCode(int row) {
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode(swiftCode(row));
+        code.setBankName(string(bankNames[row]));
+        code.setAddress(string(addresses[row]));
+        code.setCountryISO2(string(countryISO2s[row]));
+        code.setCountryName(string(countryNames[row]));
+        code.setIsHeadquarter(headquarters.get(row));
+        return code;
+    }
+
+    public SwiftCodeView toView(int row) {
+        return new SwiftCodeView(swiftCode(row), string(bankNames[row]), string(addresses[row]),
+                string(countryISO2s[row]), string(countryNames[row]), headquarters.get(row));
+    }
+
+    //Approximate retained size: arrays plus the shared string table (compact Latin-1 strings).
+    public long estimatedHeapBytes() {
+        long bytes = 16L + keys.length + 4L * 16 + 4L * 4 * size + (size / 8 + 16);
+        bytes += 16L + 4L * strings.length;
+        for (String s : strings) {
+            bytes += 24 + 16 + (s == null ? 0 : s.length());
+        }
+        for (int[] rows : countries.values()) {
+            bytes += 48 + 16 + 4L * rows.length;
+        }
+        return bytes;
+    }
+
+    private List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            entries.add(entry(row));
+        }
+        return entries;
+    }
+
+    //First row at or after from whose key does not sort before the code
+    private int lowerBound(int from, CharSequence swiftCode) {
+        int low = from;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(mid, swiftCode, KEY_LENGTH) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void copyRows(int from, int until, int to, byte[] newKeys, int[] newBankNames, int[] newAddresses,
+                          int[] newCountryISO2s, int[] newCountryNames, BitSet newHeadquarters) {
+        int count = until - from;
+        if (count <= 0) {
+            return;
+        }
+        System.arraycopy(keys, from * KEY_LENGTH, newKeys, to * KEY_LENGTH, count * KEY_LENGTH);
+        System.arraycopy(bankNames, from, newBankNames, to, count);
+        System.arraycopy(addresses, from, newAddresses, to, count);
+        System.arraycopy(countryISO2s, from, newCountryISO2s, to, count);
+        System.arraycopy(countryNames, from, newCountryNames, to, count);
+        for (int row = headquarters.nextSetBit(from); row >= 0 && row < until; row = headquarters.nextSetBit(row + 1)) {
+            newHeadquarters.set(to + row - from);
+        }
+    }
+
+    //Sorted row numbers per upper-cased country code; rows are visited in order, so every array comes out sorted.
+    private static Map<String, int[]> indexCountries(int size, int[] countryISO2s, String[] strings) {
+        String[] keyOfId = new String[strings.length];
+        Map<String, int[]> counts = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            int id = countryISO2s[row];
+            if (id >= 0) {
+                if (keyOfId[id] == null) {
+                    keyOfId[id] = strings[id].toUpperCase();
+                }
+                counts.computeIfAbsent(keyOfId[id], k -> new int[1])[0]++;
+            }
+        }
+        Map<String, int[]> countries = new HashMap<>();
+        counts.forEach((country, count) -> {
+            countries.put(country, new int[count[0]]);
+            count[0] = 0;
+        });
+        for (int row = 0; row < size; row++) {
+            int id = countryISO2s[row];
+            if (id >= 0) {
+                countries.get(keyOfId[id])[counts.get(keyOfId[id])[0]++] = row;
+            }
+        }
+        return countries;
+    }
+
+    private static int append(String value, List<String> strings) {
+        if (value == null) {
+            return -1;
+        }
+        strings.add(value);
+        return strings.size() - 1;
+    }
+
+    private String string(int id) {
+        return id < 0 ? null : strings[id];
+    }
+
+    private int compareKey(int row, CharSequence code, int length) {
+        int offset = row * KEY_LENGTH;
+        for (int i = 0; i < length; i++) {
+            int c = i < code.length() ? code.charAt(i) : PAD;
+            int cmp = keys[offset + i] - c;
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareCodes(String a, String b) {
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            int ca = i < a.length() ? a.charAt(i) : PAD;
+            int cb = i < b.length() ? b.charAt(i) : PAD;
+            if (ca != cb) {
+                return ca - cb;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isStorable(CharSequence code) {
+        if (code == null || code.isEmpty() || code.length() > KEY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int intern(String value, Map<String, Integer> ids, List<String> strings) {
+        if (value == null) {
+            return -1;
+        }
+        return ids.computeIfAbsent(value, v -> {
+            strings.add(v);
+            return strings.size() - 1;
+        });
+    }
+}
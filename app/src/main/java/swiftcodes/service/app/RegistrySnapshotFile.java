@@ -0,0 +1,286 @@
+package swiftcodes.service.app;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+//Compiled form of the registry sources, written while the import parses them and replayed by a later import of the
+//same sources instead of parsing them again (no POI, no CSV parsing). Imports of unchanged sources are skipped anyway
+//(swift.import.skip-unchanged), so it only pays off when a new or reset database is filled from unchanged sources.
+//Both directions stream chunk by chunk, the registry is never held in memory as a whole.
+//Layout, big-endian:
+//  int magic "SWFS", int version, 32 bytes SHA-256 of the sources,
+//  chunks as the import wrote them: int row count (> 0), then per row swiftCode, bankName, address, countryISO2 and
+//  countryName as int byte length (-1 = null) and UTF-8 bytes, and a byte isHeadquarter (0 null, 1 false, 2 true),
+//  int 0 after the last chunk,
+//  long CRC32C of everything before it.
+//A file with another version, another source hash or a bad checksum is ignored and recompiled from the sources.
+@Component
+public class RegistrySnapshotFile {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrySnapshotFile.class);
+
+    static final int MAGIC = 0x53574653;
+    static final int VERSION = 2;
+    private static final int HASH_BYTES = 32;
+    private static final int HEADER_BYTES = 4 + 4 + HASH_BYTES;
+    private static final int COLUMNS = 5;
+
+    //Empty (the default) disables the snapshot, every import then parses the sources
+    @Value("${swift.snapshot.path:}")
+    private String path;
+
+    public boolean isEnabled() {
+        return path != null && !path.isBlank();
+    }
+
+    //True if there is an intact snapshot compiled from sources with this content hash.
+    public boolean matches(String sourceHash) {
+        return read(sourceHash, null) >= 0;
+    }
+
+    //Passes the snapshot's chunks to the writer in the order they were imported and returns the rows it reported
+    //as written, or -1 if there is no usable snapshot of these sources. The file is verified before the first chunk.
+    public int read(String sourceHash, RegistryImportEngine.ChunkWriter writer) {
+        Path file = Path.of(path);
+        if (!Files.isRegularFile(file)) {
+            return -1;
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 4 + 8 || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring registry snapshot {}: unexpected size {}", file, size);
+                return -1;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (!verify(buffer, HexFormat.of().parseHex(sourceHash))) {
+                return -1;
+            }
+            if (writer == null) {
+                return 0;
+            }
+            int written = replay(buffer, writer);
+            log.info("Imported {} SWIFT codes from registry snapshot {} in {} ms", written, file,
+                    (System.nanoTime() - start) / 1_000_000);
+            return written;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable registry snapshot {}: {}", file, e.getMessage());
+            return -1;
+        }
+    }
+
+    //Null if the snapshot cannot be written; the import goes on without it.
+    public Writer writer(String sourceHash) {
+        try {
+            return new Writer(Path.of(path).toAbsolutePath(), HexFormat.of().parseHex(sourceHash));
+        } catch (IOException e) {
+            log.warn("Could not write registry snapshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    //Appends chunks to a temporary file next to the snapshot and moves it in place on commit, so a reader never sees
+    //a partial file. A write error only costs the snapshot, it is logged once and the import is not affected.
+    public static final class Writer implements Closeable {
+
+        private final Path file;
+        private final Path temp;
+        private final OutputStream target;
+        private final CRC32C crc = new CRC32C();
+        private final DataOutputStream out;
+        private int rows;
+        private boolean failed;
+        private boolean committed;
+
+        private Writer(Path file, byte[] sourceHash) throws IOException {
+            this.file = file;
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            target = Files.newOutputStream(temp);
+            out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(target, crc)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.write(sourceHash);
+        }
+
+        public void append(Collection<SwiftCode> chunk) {
+            if (failed || chunk.isEmpty()) {
+                return;
+            }
+            try {
+                encode(out, chunk);
+                rows += chunk.size();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        public void commit() {
+            if (failed) {
+                return;
+            }
+            try {
+                out.writeInt(0);
+                out.flush();
+                //The checksum itself is not part of the checksummed bytes
+                new DataOutputStream(target).writeLong(crc.getValue());
+                target.close();
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                committed = true;
+                log.info("Wrote registry snapshot {} ({} SWIFT codes, {} bytes)", file, rows, Files.size(file));
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        //Drops the temporary file unless it was committed.
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                target.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Could not remove temporary registry snapshot {}: {}", temp, e.getMessage());
+            }
+        }
+
+        private void fail(IOException e) {
+            failed = true;
+            //Only the next import of a reset database gets slower, this one is not affected
+            log.warn("Could not write registry snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    static void encode(DataOutputStream out, Collection<SwiftCode> chunk) throws IOException {
+        out.writeInt(chunk.size());
+        for (SwiftCode code : chunk) {
+            writeString(out, code.getSwiftCode());
+            writeString(out, code.getBankName());
+            writeString(out, code.getAddress());
+            writeString(out, code.getCountryISO2());
+            writeString(out, code.getCountryName());
+            Boolean headquarter = code.getIsHeadquarter();
+            out.writeByte(headquarter == null ? 0 : headquarter ? 2 : 1);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    //Checks checksum, version, source hash and that the chunks end exactly before the checksum, without decoding rows.
+    static boolean verify(ByteBuffer buffer, byte[] sourceHash) {
+        int size = buffer.limit();
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, size - 8));
+        if (crc.getValue() != buffer.getLong(size - 8)) {
+            log.warn("Ignoring registry snapshot: checksum mismatch");
+            return false;
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            log.info("Ignoring registry snapshot of another format version");
+            return false;
+        }
+        byte[] storedHash = new byte[HASH_BYTES];
+        buffer.get(8, storedHash);
+        if (!Arrays.equals(storedHash, sourceHash)) {
+            log.info("Registry snapshot was compiled from other sources, recompiling");
+            return false;
+        }
+        long position = HEADER_BYTES;
+        long end = size - 8;
+        while (position + 4 <= end) {
+            int rows = buffer.getInt((int) position);
+            position += 4;
+            if (rows == 0) {
+                return position == end;
+            }
+            for (int row = 0; row < rows; row++) {
+                for (int c = 0; c < COLUMNS; c++) {
+                    if (position + 4 > end) {
+                        return false;
+                    }
+                    int length = buffer.getInt((int) position);
+                    if (length < -1) {
+                        return false;
+                    }
+                    position += 4 + Math.max(length, 0);
+                }
+                position += 1;
+                if (position > end) {
+                    return false;
+                }
+            }
+        }
+        log.warn("Ignoring registry snapshot: truncated chunk section");
+        return false;
+    }
+
+    //Decodes one chunk at a time, so only the chunk being written is in memory. The buffer must have been verified.
+    static int replay(ByteBuffer buffer, RegistryImportEngine.ChunkWriter writer) {
+        int position = HEADER_BYTES;
+        int written = 0;
+        int rows;
+        while ((rows = buffer.getInt(position)) > 0) {
+            position += 4;
+            List<SwiftCode> chunk = new ArrayList<>(rows);
+            for (int row = 0; row < rows; row++) {
+                String[] values = new String[COLUMNS];
+                for (int c = 0; c < COLUMNS; c++) {
+                    int length = buffer.getInt(position);
+                    position += 4;
+                    if (length >= 0) {
+                        byte[] bytes = new byte[length];
+                        buffer.get(position, bytes);
+                        values[c] = new String(bytes, StandardCharsets.UTF_8);
+                        position += length;
+                    }
+                }
+                SwiftCode code = new SwiftCode();
+                code.setSwiftCode(values[0]);
+                code.setBankName(values[1]);
+                code.setAddress(values[2]);
+                code.setCountryISO2(values[3]);
+                code.setCountryName(values[4]);
+                byte headquarter = buffer.get(position);
+                code.setIsHeadquarter(headquarter == 0 ? null : headquarter == 2);
+                position += 1;
+                chunk.add(code);
+            }
+            written += writer.write(chunk);
+        }
+        return written;
+    }
+}
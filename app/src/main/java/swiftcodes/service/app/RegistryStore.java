@@ -0,0 +1,33 @@
+package swiftcodes.service.app;
+
+import java.util.Collection;
+import java.util.List;
+
+//Read model of the SWIFT registry, mirroring the lookups SwiftCodeRepository exposes.
+//PostgreSQL stays the system of record, implementations are written through after every change.
+public interface RegistryStore {
+
+    SwiftCode findBySwiftCode(String swiftCode);
+
+    List<SwiftCodeView> findByCountryISO2(String countryISO2);
+
+    //Keyset page: at most limit codes of the country sorting after the given code, in code order.
+    List<SwiftCodeView> findByCountryISO2(String countryISO2, String after, int limit);
+
+    //Branch (non-HQ) records sharing the given 8-character institution prefix.
+    List<SwiftCodeView> findBranchesByPrefix(String prefix);
+
+    void put(SwiftCode code);
+
+    void remove(String swiftCode);
+
+    //Bulk variants, applied as one change
+    void putAll(Collection<SwiftCode> codes);
+
+    void removeAll(Collection<String> swiftCodes);
+
+    //Replaces the whole content in one step, readers see either the old or the new registry.
+    void replaceAll(Collection<SwiftCode> codes);
+
+    int size();
+}
@@ -5,7 +5,11 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "swift_codes")
+@Table(name = "swift_codes",
+        indexes = {
+                @Index(name = "idx_swift_codes_institution", columnList = "institutionCode, isHeadquarter"),
+                @Index(name = "idx_swift_codes_country", columnList = "countryISO2, swiftCode")
+        })
 public class SwiftCode {
 
     @Id
@@ -36,6 +40,12 @@ public class SwiftCode {
     @Column(name = "isHeadquarter")
     private Boolean isHeadquarter;
 
+    //First 8 characters of swiftCode (bank, country and location), derived in setSwiftCode.
+    //Branch lookups use this indexed equality instead of a LIKE prefix scan on swiftCode.
+    @JsonIgnore
+    @Column(name = "institutionCode", length = 8)
+    private String institutionCode;
+
 
     //Getters and Setters
     public Long  getId() {
@@ -47,7 +57,12 @@ public class SwiftCode {
     }
 
     public void setSwiftCode(String swiftCode) {
-        this.swiftCode = swiftCode.toUpperCase();
+        this.swiftCode = Bic.normalize(swiftCode);
+        this.institutionCode = institutionCodeOf(this.swiftCode);
+    }
+
+    public String getInstitutionCode() {
+        return institutionCode;
     }
 
     public String getBankName() {
@@ -90,6 +105,10 @@ public class SwiftCode {
         this.isHeadquarter = isHeadquarter;
     }
 
+    public static String institutionCodeOf(String swiftCode) {
+        return swiftCode.length() > 8 ? swiftCode.substring(0, 8) : swiftCode;
+    }
+
     private String checkEmpty(String value) {
         return (value == null || value.trim().isEmpty()) ? "Not Specified" : value;
     }
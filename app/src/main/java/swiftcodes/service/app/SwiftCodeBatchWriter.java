@@ -0,0 +1,153 @@
+package swiftcodes.service.app;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//Writes SWIFT codes through plain JDBC batches, bypassing the persistence context used by SwiftCodeRepository.
+@Component
+@Timed(value = "swift.db.batch", percentiles = {0.5, 0.99}, histogram = true)
+public class SwiftCodeBatchWriter {
+
+    //Rows whose values did not change are matched by the WHERE clause and left untouched.
+    private static final String UPSERT_SQL =
+            "INSERT INTO swift_codes (swiftCode, bankName, address, countryISO2, countryName, isHeadquarter, "
+                    + "institutionCode) VALUES (?, ?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (swiftCode) DO UPDATE SET "
+                    + "bankName = EXCLUDED.bankName, address = EXCLUDED.address, "
+                    + "countryISO2 = EXCLUDED.countryISO2, countryName = EXCLUDED.countryName, "
+                    + "isHeadquarter = EXCLUDED.isHeadquarter, institutionCode = EXCLUDED.institutionCode "
+                    + "WHERE (swift_codes.bankName, swift_codes.address, swift_codes.countryISO2, "
+                    + "swift_codes.countryName, swift_codes.isHeadquarter, swift_codes.institutionCode) IS DISTINCT FROM "
+                    + "(EXCLUDED.bankName, EXCLUDED.address, EXCLUDED.countryISO2, "
+                    + "EXCLUDED.countryName, EXCLUDED.isHeadquarter, EXCLUDED.institutionCode)";
+
+    //Multi-row insert, the VALUES rows are appended per chunk. Conflicts are already filtered out by the caller,
+    //DO NOTHING only covers a concurrent insert of the same code, which RETURNING then leaves out.
+    private static final String INSERT_SQL =
+            "INSERT INTO swift_codes (swiftCode, bankName, address, countryISO2, countryName, isHeadquarter, "
+                    + "institutionCode) VALUES ";
+
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_RETURNING = " ON CONFLICT (swiftCode) DO NOTHING RETURNING swiftCode";
+
+    //Bind parameters per inserted row
+    private static final int INSERT_COLUMNS = 7;
+
+    //Hands back what the summary and the events need, so nothing is read before the delete
+    private static final String DELETE_RETURNING_SQL =
+            "DELETE FROM swift_codes WHERE swiftCode IN (:codes) RETURNING swiftCode, countryISO2, isHeadquarter";
+
+    private static final String EXISTING_SQL = "SELECT swiftCode FROM swift_codes WHERE swiftCode IN (:codes)";
+
+    private static final String ALL_CODES_SQL = "SELECT swiftCode FROM swift_codes";
+
+    //Keeps IN lists well below the PostgreSQL bind parameter limit
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    //Rows written before the institutionCode column existed
+    private static final String BACKFILL_SQL =
+            "UPDATE swift_codes SET institutionCode = substring(swiftCode, 1, 8) WHERE institutionCode IS NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${swift.import.batch-size:1000}")
+    private int batchSize;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    //Codes of the given list that are already stored.
+    public Set<String> findExisting(Collection<String> swiftCodes) {
+        Set<String> existing = new HashSet<>();
+        List<String> all = new ArrayList<>(swiftCodes);
+        for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + IN_CHUNK_SIZE, all.size()));
+            existing.addAll(namedParameterJdbcTemplate.queryForList(EXISTING_SQL, Map.of("codes", chunk), String.class));
+        }
+        return existing;
+    }
+
+    public List<String> findAllCodes() {
+        return jdbcTemplate.queryForList(ALL_CODES_SQL, String.class);
+    }
+
+    //Inserts codes that are expected not to exist yet, at most batchSize rows per statement.
+    //Returns the codes really inserted; one inserted meanwhile by another transaction is not among them.
+    public Set<String> insert(Collection<SwiftCode> codes) {
+        Set<String> inserted = new HashSet<>();
+        List<SwiftCode> all = new ArrayList<>(codes);
+        int rows = Math.max(1, Math.min(batchSize, IN_CHUNK_SIZE));
+        for (int from = 0; from < all.size(); from += rows) {
+            List<SwiftCode> chunk = all.subList(from, Math.min(from + rows, all.size()));
+            String sql = INSERT_SQL + String.join(", ", Collections.nCopies(chunk.size(), INSERT_ROW)) + INSERT_RETURNING;
+            inserted.addAll(jdbcTemplate.query(sql, ps -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                    bind(ps, i * INSERT_COLUMNS, chunk.get(i));
+                }
+            }, (rs, rowNum) -> rs.getString(1)));
+        }
+        return inserted;
+    }
+
+    //Deletes the codes and returns the rows that existed, holding only swiftCode, countryISO2 and isHeadquarter.
+    public List<SwiftCode> deleteReturning(Collection<String> swiftCodes) {
+        List<SwiftCode> deleted = new ArrayList<>();
+        List<String> all = new ArrayList<>(swiftCodes);
+        for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + IN_CHUNK_SIZE, all.size()));
+            deleted.addAll(namedParameterJdbcTemplate.query(DELETE_RETURNING_SQL, Map.of("codes", chunk), (rs, rowNum) -> {
+                SwiftCode code = new SwiftCode();
+                code.setSwiftCode(rs.getString(1));
+                code.setCountryISO2(rs.getString(2));
+                code.setIsHeadquarter(rs.getBoolean(3));
+                return code;
+            }));
+        }
+        return deleted;
+    }
+
+    //Inserts new codes and updates changed ones in JDBC batches of at most batchSize statements.
+    //Codes must be unique within one call, PostgreSQL rejects a statement touching the same row twice.
+    public int upsert(Collection<SwiftCode> codes) {
+        if (codes.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, codes, batchSize, (ps, code) -> bind(ps, 0, code));
+        return codes.size();
+    }
+
+    public int backfillInstitutionCodes() {
+        return jdbcTemplate.update(BACKFILL_SQL);
+    }
+
+    //Binds the code to the 7 parameters after offset
+    private void bind(PreparedStatement ps, int offset, SwiftCode code) throws SQLException {
+        ps.setString(offset + 1, code.getSwiftCode());
+        ps.setString(offset + 2, code.getBankName());
+        ps.setString(offset + 3, code.getAddress());
+        ps.setString(offset + 4, code.getCountryISO2());
+        ps.setString(offset + 5, code.getCountryName());
+        ps.setBoolean(offset + 6, Boolean.TRUE.equals(code.getIsHeadquarter()));
+        ps.setString(offset + 7, code.getInstitutionCode());
+    }
+}
@@ -0,0 +1,123 @@
+package swiftcodes.service.app;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+//Bloom filter over every stored SWIFT code, so lookups of codes that do not exist are answered without the database.
+//Codes are added before their transaction commits (a rollback only leaves a harmless false positive) and are never
+//removed; deleted codes fall back to a database lookup until the next rebuild, which follows every registry import.
+//A rebuild replays every code whose transaction had not ended when it started, or that was added while it ran,
+//so a code committed after the rebuild read the table is never missing from the new filter.
+//Until the first build every code "might exist", so nothing is rejected while the registry is still loading.
+@Component
+public class SwiftCodeBloomFilter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SwiftCodeBloomFilter.class);
+
+    @Autowired
+    private SwiftCodeBatchWriter swiftCodeBatchWriter;
+
+    //False positive probability at the sized capacity; 1% costs about 1.2 bytes per code
+    @Value("${swift.bloom.fpp:0.01}")
+    private double fpp;
+
+    //Capacity headroom over the codes present at build time, for codes added through the API until the next import
+    @Value("${swift.bloom.headroom:1.5}")
+    private double headroom;
+
+    private volatile BloomFilter<CharSequence> filter;
+    //Codes added in transactions that have not ended yet
+    private final Multiset<String> inFlight = HashMultiset.create();
+    //In-flight codes when a rebuild started plus codes added while it reads the table,
+    //replayed into the new filter before it is published
+    private List<String> addedDuringBuild;
+    private final Object buildLock = new Object();
+
+    //False only for codes that are definitely not stored. Codes are expected upper-cased.
+    public boolean mightContain(String swiftCode) {
+        BloomFilter<CharSequence> current = filter;
+        return current == null || current.mightContain(swiftCode);
+    }
+
+    public void add(Collection<String> swiftCodes) {
+        List<String> codes = List.copyOf(swiftCodes);
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        synchronized (this) {
+            if (filter != null) {
+                codes.forEach(filter::put);
+            }
+            if (addedDuringBuild != null) {
+                addedDuringBuild.addAll(codes);
+            }
+            if (transactional) {
+                inFlight.addAll(codes);
+            }
+        }
+        if (transactional) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (SwiftCodeBloomFilter.this) {
+                        codes.forEach(inFlight::remove);
+                    }
+                }
+            });
+        }
+    }
+
+    @EventListener
+    public void onRegistryReloaded(RegistryReloadedEvent event) {
+        if (event.changed() || filter == null) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        synchronized (buildLock) {
+            synchronized (this) {
+                addedDuringBuild = new ArrayList<>(inFlight);
+            }
+            try {
+                long start = System.nanoTime();
+                List<String> codes = swiftCodeBatchWriter.findAllCodes();
+                BloomFilter<CharSequence> built = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                        Math.max(1000, (long) (codes.size() * headroom)), fpp);
+                codes.forEach(built::put);
+                synchronized (this) {
+                    addedDuringBuild.forEach(built::put);
+                    filter = built;
+                }
+                log.info("Built Bloom filter over {} SWIFT codes in {} ms", codes.size(), (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                synchronized (this) {
+                    addedDuringBuild = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("swift.bloom.fpp", this, b -> b.filter == null ? 1.0 : b.filter.expectedFpp())
+                .description("Current false positive probability of the SWIFT code Bloom filter")
+                .register(registry);
+    }
+}
@@ -0,0 +1,92 @@
+package swiftcodes.service.app;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+//Bounded read-through cache for SwiftCodeService lookups. Hit/miss counts are published as cache.* metrics.
+@Component
+public class SwiftCodeCache implements MeterBinder {
+
+    //Misses are cached as Optional.empty(), Guava caches cannot hold null.
+    private final Cache<String, Optional<SwiftCode>> codes;
+    private final Cache<String, List<SwiftCodeView>> branches;
+    private final Cache<String, List<SwiftCodeView>> countries;
+
+    public SwiftCodeCache(@Value("${swift.cache.max-size:10000}") long maxSize,
+                          @Value("${swift.cache.country-max-size:300}") long countryMaxSize,
+                          @Value("${swift.cache.ttl:PT10M}") Duration ttl) {
+        this.codes = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.branches = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.countries = CacheBuilder.newBuilder().maximumSize(countryMaxSize).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    public SwiftCode getCode(String swiftCode, Callable<SwiftCode> loader) {
+        return load(codes, swiftCode, () -> Optional.ofNullable(loader.call())).orElse(null);
+    }
+
+    public List<SwiftCodeView> getBranches(String prefix, Callable<List<SwiftCodeView>> loader) {
+        return load(branches, prefix, loader);
+    }
+
+    public List<SwiftCodeView> getCountry(String countryISO2, Callable<List<SwiftCodeView>> loader) {
+        return load(countries, countryISO2, loader);
+    }
+
+    //Drops the code itself, its HQ entry, the branch list of its institution and its country listing.
+    public void invalidate(String swiftCode, String countryISO2) {
+        codes.invalidate(swiftCode);
+        if (swiftCode.length() >= 8) {
+            String prefix = swiftCode.substring(0, 8);
+            codes.invalidate(prefix + "XXX");
+            branches.invalidate(prefix);
+        }
+        if (countryISO2 != null) {
+            countries.invalidate(countryISO2.toUpperCase());
+        }
+    }
+
+    //Lookups made while an import was running may have cached the previous registry.
+    @EventListener
+    public void onRegistryReloaded(RegistryReloadedEvent event) {
+        if (event.changed()) {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        codes.invalidateAll();
+        branches.invalidateAll();
+        countries.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, codes, "swift.codes");
+        GuavaCacheMetrics.monitor(registry, branches, "swift.branches");
+        GuavaCacheMetrics.monitor(registry, countries, "swift.countries");
+    }
+
+    private static <V> V load(Cache<String, V> cache, String key, Callable<V> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new APIException("ERR-500", "Error loading SWIFT data: " + ex.getCause().getMessage());
+        }
+    }
+}
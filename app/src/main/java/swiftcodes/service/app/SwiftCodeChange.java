@@ -0,0 +1,64 @@
+package swiftcodes.service.app;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+//One entry of the change log: a code was inserted or updated (UPSERT) or deleted (DELETE).
+//seq grows in commit order, consumers remember the last one they applied and ask for what follows it.
+@Entity
+@Table(name = "swift_code_changes")
+public class SwiftCodeChange {
+
+    public enum Operation { UPSERT, DELETE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "swiftCode", nullable = false)
+    private String swiftCode;
+
+    @Column(name = "countryISO2")
+    private String countryISO2;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 8)
+    private Operation operation;
+
+    @Column(name = "changedAt", nullable = false)
+    private LocalDateTime changedAt;
+
+    protected SwiftCodeChange() {
+    }
+
+    public SwiftCodeChange(long seq, String swiftCode, String countryISO2, Operation operation, LocalDateTime changedAt) {
+        this.seq = seq;
+        this.swiftCode = swiftCode;
+        this.countryISO2 = countryISO2;
+        this.operation = operation;
+        this.changedAt = changedAt;
+    }
+
+    //Getters
+    public Long getSeq() {
+        return seq;
+    }
+
+    public String getSwiftCode() {
+        return swiftCode;
+    }
+
+    public String getCountryISO2() {
+        return countryISO2;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
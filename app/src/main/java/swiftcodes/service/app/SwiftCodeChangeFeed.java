@@ -0,0 +1,131 @@
+package swiftcodes.service.app;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+//Pushes change log entries to Server-Sent Events subscribers.
+//Committed changes (SwiftCodeChangedEvent, RegistryReloadedEvent) schedule one dispatch on a single thread, which reads
+//the log after each subscriber's last seq; a burst of changes is coalesced into as few reads as possible.
+//Every event carries its seq as id, so a reconnecting client resumes through Last-Event-ID.
+@Component
+public class SwiftCodeChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(SwiftCodeChangeFeed.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    @Autowired
+    private SwiftCodeChangeRepository swiftCodeChangeRepository;
+
+    //Clients reconnect after it with Last-Event-ID
+    @Value("${swift.changes.sse-timeout:PT30M}")
+    private Duration timeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            runnable -> Thread.ofPlatform().name("change-feed").daemon().unstarted(runnable));
+
+    //Sends every entry after since, then new ones as they are committed. The renderer turns a page of entries into events.
+    public SseEmitter subscribe(long since, Function<List<SwiftCodeChange>, List<Map<String, Object>>> renderer) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, renderer, since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule();
+        return emitter;
+    }
+
+    @EventListener
+    public void onSwiftCodeChanged(SwiftCodeChangedEvent event) {
+        schedule();
+    }
+
+    @EventListener
+    public void onRegistryReloaded(RegistryReloadedEvent event) {
+        if (event.changed()) {
+            schedule();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void schedule() {
+        if (!subscribers.isEmpty() && scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        //Cleared first, so a change committed while sending schedules another round
+        scheduled.set(false);
+        for (Subscriber subscriber : subscribers) {
+            try {
+                List<SwiftCodeChange> page;
+                do {
+                    page = swiftCodeChangeRepository.findBySeqGreaterThanOrderBySeqAsc(subscriber.lastSeq, Limit.of(PAGE_SIZE));
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    List<Map<String, Object>> entries = subscriber.renderer.apply(page);
+                    for (int i = 0; i < page.size(); i++) {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(String.valueOf(page.get(i).getSeq()))
+                                .name("change")
+                                .data(entries.get(i)));
+                    }
+                    subscriber.lastSeq = page.getLast().getSeq();
+                } while (page.size() == PAGE_SIZE);
+            } catch (IOException | IllegalStateException ex) {
+                //The client went away; the emitter callbacks remove it
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(ex);
+            } catch (Exception ex) {
+                log.warn("Change feed dispatch failed: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Function<List<SwiftCodeChange>, List<Map<String, Object>>> renderer;
+        //Only read and written on the dispatcher thread
+        private long lastSeq;
+
+        private Subscriber(SseEmitter emitter, Function<List<SwiftCodeChange>, List<Map<String, Object>>> renderer,
+                           long since) {
+            this.emitter = emitter;
+            this.renderer = renderer;
+            this.lastSeq = since;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package swiftcodes.service.app;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+//Writes the change log (swift_code_changes) in the transaction that changes swift_codes.
+//Every writer first takes a transaction-scoped advisory lock, so entries are numbered in commit order and a consumer
+//that has read up to seq N never misses an entry committed later with a lower seq. Writers log last, after all their
+//row changes and right before their commit, so the lock is held only briefly even by a long registry import, and no
+//writer waits for row locks while holding it.
+@Component
+public class SwiftCodeChangeLog {
+
+    //Arbitrary application-wide key of the advisory lock
+    private static final long LOCK_KEY = 0x5357494654L;
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?)";
+
+    //After an upsert the country is taken from the stored row, which then holds the new one
+    private static final String UPSERT_LOG_SQL =
+            "INSERT INTO swift_code_changes (swiftCode, countryISO2, operation, changedAt) "
+                    + "SELECT swiftCode, countryISO2, ?, ? FROM swift_codes WHERE swiftCode = ?";
+
+    //Deleted rows are gone, so the caller passes the code and country it captured from the delete
+    private static final String DELETE_LOG_SQL =
+            "INSERT INTO swift_code_changes (swiftCode, countryISO2, operation, changedAt) VALUES (?, ?, ?, ?)";
+
+    private static final String CURRENT_SQL =
+            "SELECT swiftCode, bankName, address, countryISO2, countryName, isHeadquarter FROM swift_codes "
+                    + "WHERE swiftCode IN (:codes)";
+
+    //Keeps the newest entry, so a consumer can always tell whether it fell behind the retention window
+    private static final String PRUNE_SQL =
+            "DELETE FROM swift_code_changes WHERE changedAt < ? AND seq < (SELECT max(seq) FROM swift_code_changes)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${swift.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${swift.changes.retention:P30D}")
+    private Duration retention;
+
+    //Call after the codes were written.
+    public void upserted(Collection<String> swiftCodes) {
+        if (swiftCodes.isEmpty()) {
+            return;
+        }
+        lock();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_LOG_SQL, swiftCodes, batchSize, (ps, code) -> {
+            ps.setString(1, SwiftCodeChange.Operation.UPSERT.name());
+            ps.setTimestamp(2, now);
+            ps.setString(3, code);
+        });
+    }
+
+    //Call after the codes were deleted, with the rows the delete removed (swiftCode and countryISO2 are used).
+    public void deleted(Collection<SwiftCode> deletedCodes) {
+        if (deletedCodes.isEmpty()) {
+            return;
+        }
+        lock();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(DELETE_LOG_SQL, deletedCodes, batchSize, (ps, code) -> {
+            ps.setString(1, code.getSwiftCode());
+            ps.setString(2, code.getCountryISO2());
+            ps.setString(3, SwiftCodeChange.Operation.DELETE.name());
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    //Codes of the chunk that are new or differ from the stored row, i.e. the ones an upsert will really change.
+    public List<String> changedCodes(Collection<SwiftCode> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        Map<String, SwiftCode> stored = new HashMap<>();
+        namedParameterJdbcTemplate.query(CURRENT_SQL,
+                Map.of("codes", chunk.stream().map(SwiftCode::getSwiftCode).toList()), rs -> {
+                    SwiftCode code = new SwiftCode();
+                    code.setSwiftCode(rs.getString(1));
+                    code.setBankName(rs.getString(2));
+                    code.setAddress(rs.getString(3));
+                    code.setCountryISO2(rs.getString(4));
+                    code.setCountryName(rs.getString(5));
+                    code.setIsHeadquarter(rs.getBoolean(6));
+                    stored.put(code.getSwiftCode(), code);
+                });
+        List<String> changed = new ArrayList<>();
+        for (SwiftCode code : chunk) {
+            SwiftCode current = stored.get(code.getSwiftCode());
+            if (current == null || !sameValues(current, code)) {
+                changed.add(code.getSwiftCode());
+            }
+        }
+        return changed;
+    }
+
+    public int prune() {
+        return jdbcTemplate.update(PRUNE_SQL, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+    }
+
+    private void lock() {
+        jdbcTemplate.query(LOCK_SQL, rs -> { }, LOCK_KEY);
+    }
+
+    private static boolean sameValues(SwiftCode a, SwiftCode b) {
+        return Objects.equals(a.getBankName(), b.getBankName())
+                && Objects.equals(a.getAddress(), b.getAddress())
+                && Objects.equals(a.getCountryISO2(), b.getCountryISO2())
+                && Objects.equals(a.getCountryName(), b.getCountryName())
+                && Boolean.TRUE.equals(a.getIsHeadquarter()) == Boolean.TRUE.equals(b.getIsHeadquarter());
+    }
+}
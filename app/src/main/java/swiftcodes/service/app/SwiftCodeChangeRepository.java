@@ -0,0 +1,16 @@
+package swiftcodes.service.app;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface SwiftCodeChangeRepository extends JpaRepository<SwiftCodeChange, Long> {
+
+    //Served by the primary key
+    List<SwiftCodeChange> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+
+    @Query("SELECT min(c.seq) FROM SwiftCodeChange c")
+    Long findOldestSeq();
+}
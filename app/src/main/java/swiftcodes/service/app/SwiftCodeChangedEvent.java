@@ -0,0 +1,6 @@
+package swiftcodes.service.app;
+
+//Published by SwiftCodeService after a code was added or deleted and the change is committed.
+//row is the committed row of an added code and null for a deleted one, so listeners need not read it back.
+public record SwiftCodeChangedEvent(String swiftCode, String countryISO2, SwiftCode row) {
+}
@@ -0,0 +1,45 @@
+package swiftcodes.service.app;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+//Response of Endpoint 1 for headquarters and branches, also the entries of lookup, search and the change log.
+//branches is only written when listed (HQ lookups); its entries carry no country name.
+@JsonPropertyOrder({
+        "address",
+        "bankName",
+        "countryISO2",
+        "countryName",
+        "isHeadquarter",
+        "swiftCode",
+        "branches"
+})
+public record SwiftCodeDetails(String address,
+                               String bankName,
+                               String countryISO2,
+                               String countryName,
+                               @JsonProperty("isHeadquarter") boolean isHeadquarter,
+                               String swiftCode,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) List<APIDTO> branches) {
+
+    //Blank address, bank name and country code read "Not Specified" and a blank country name null, as in APIDTO
+    public static SwiftCodeDetails of(SwiftCode code, boolean headquarter, List<SwiftCodeView> branches) {
+        String countryName = code.getCountryName();
+        return new SwiftCodeDetails(
+                APIDTO.checkEmpty(code.getAddress()),
+                APIDTO.checkEmpty(code.getBankName()),
+                APIDTO.checkEmpty(code.getCountryISO2()),
+                countryName == null || countryName.trim().isEmpty() ? null : countryName,
+                headquarter,
+                code.getSwiftCode(),
+                branches == null ? null : branches.stream().map(APIDTO::entryOf).toList());
+    }
+
+    //Search result: the entry's fields followed by the match score
+    public record Scored(@JsonUnwrapped SwiftCodeDetails details, double score) {
+    }
+}
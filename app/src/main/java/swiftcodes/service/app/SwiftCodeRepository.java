@@ -1,19 +1,51 @@
 package swiftcodes.service.app;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface SwiftCodeRepository extends JpaRepository<SwiftCode, Long> {
 
+    //Listing queries select straight into SwiftCodeView instead of loading managed entities
+    String VIEW = "SELECT new swiftcodes.service.app.SwiftCodeView(s.swiftCode, s.bankName, s.address, "
+            + "s.countryISO2, s.countryName, s.isHeadquarter) FROM SwiftCode s ";
+
     //Finding bank by SWIFT CODE
     SwiftCode findBySwiftCode(String swiftCode);
 
     //Finding all bank by Country Code
-    List<SwiftCode> findByCountryISO2(String countryISO2);
+    @Query(VIEW + "WHERE s.countryISO2 = :countryISO2")
+    List<SwiftCodeView> findViewsByCountryISO2(@Param("countryISO2") String countryISO2);
+
+    //Keyset page of a country, served by the (countryISO2, swiftCode) index
+    @Query(VIEW + "WHERE s.countryISO2 = :countryISO2 AND s.swiftCode > :after ORDER BY s.swiftCode")
+    List<SwiftCodeView> findViewPageByCountryISO2(@Param("countryISO2") String countryISO2,
+                                                  @Param("after") String after, Limit limit);
+
+    //Cursor over a whole country; must be consumed inside a transaction so the driver fetches in chunks
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW + "WHERE s.countryISO2 = :countryISO2 ORDER BY s.swiftCode")
+    Stream<SwiftCodeView> streamViewsByCountryISO2(@Param("countryISO2") String countryISO2);
 
     //Retrieving branch records based on the first 8 characters and ensuring they are not headquarters.
-    List<SwiftCode> findBySwiftCodeStartingWithAndIsHeadquarterFalse(String prefix);
+    //Served by the (institutionCode, isHeadquarter) index.
+    @Query(VIEW + "WHERE s.institutionCode = :institutionCode AND s.isHeadquarter = false")
+    List<SwiftCodeView> findBranchViewsByInstitutionCode(@Param("institutionCode") String institutionCode);
+
+    //Bulk variants, one round trip for a whole chunk of codes
+    List<SwiftCode> findBySwiftCodeIn(Collection<String> swiftCodes);
+
+    @Query(VIEW + "WHERE s.institutionCode IN :institutionCodes AND s.isHeadquarter = false")
+    List<SwiftCodeView> findBranchViewsByInstitutionCodeIn(@Param("institutionCodes") Collection<String> institutionCodes);
 
     //Deleting by SWIFT CODE
     @Modifying
@@ -0,0 +1,71 @@
+package swiftcodes.service.app;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+//Final JSON bytes of GET /v1/swift-codes/{swiftCode} per code, with a strong ETag derived from them.
+//HQ entries embed their branches, so a change to any code drops the code itself, its HQ entry (XXX) and the
+//8-character form of its institution code.
+@Component
+public class SwiftCodeResponseCache implements MeterBinder {
+
+    public record CachedResponse(byte[] body, String etag) {
+    }
+
+    private final Cache<String, CachedResponse> responses;
+
+    public SwiftCodeResponseCache(@Value("${swift.response-cache.max-size:20000}") long maxSize) {
+        this.responses = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+    }
+
+    //Renders and stores the body on a miss; exceptions of the renderer (e.g. a 404) are passed on and not cached.
+    public CachedResponse get(String swiftCode, Callable<byte[]> renderer) {
+        try {
+            return responses.get(Bic.normalize(swiftCode), () -> {
+                byte[] body = renderer.call();
+                return new CachedResponse(body, "\"" + Hashing.murmur3_128().hashBytes(body) + "\"");
+            });
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new APIException("ERR-500", "Error rendering SWIFT code details: " + ex.getCause().getMessage());
+        }
+    }
+
+    @EventListener
+    public void onSwiftCodeChanged(SwiftCodeChangedEvent event) {
+        String swiftCode = Bic.normalize(event.swiftCode());
+        responses.invalidate(swiftCode);
+        String institutionCode = SwiftCode.institutionCodeOf(swiftCode);
+        responses.invalidate(institutionCode);
+        responses.invalidate(institutionCode + "XXX");
+    }
+
+    @EventListener
+    public void onRegistryReloaded(RegistryReloadedEvent event) {
+        if (event.changed()) {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        responses.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, responses, "swift.responses");
+    }
+}
@@ -0,0 +1,346 @@
+package swiftcodes.service.app;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+//Typo-tolerant search over swiftCode, bankName and address with an in-memory trigram index.
+//Text is upper-cased and split into words; every word contributes the trigrams of "  WORD " (as pg_trgm does),
+//and a code matches a query by the share of the query's trigrams it contains.
+//Built after every import. Changes made through the API are applied on top of the built index as they commit;
+//once there are more than swift.search.max-changes of them it is rebuilt in the background, searches keep using
+//the current index meanwhile and never build one themselves.
+@Component
+public class SwiftCodeSearchIndex implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SwiftCodeSearchIndex.class);
+
+    //Added to the trigram score when the query is a prefix of the SWIFT code, so code lookups rank first
+    private static final double CODE_PREFIX_BOOST = 0.5;
+
+    public record Hit(SwiftCode code, double score) {
+    }
+
+    @Autowired
+    private SwiftCodeRepository swiftCodeRepository;
+
+    //Share of the query's trigrams a code must contain to be returned
+    @Value("${swift.search.min-similarity:0.3}")
+    private double minSimilarity;
+
+    //Changes kept on top of the built index before it is rebuilt; they are matched without the trigram index
+    @Value("${swift.search.max-changes:256}")
+    private int maxChanges;
+
+    private volatile Index index = Index.EMPTY;
+    private volatile boolean ready;
+    //One build at a time; held while the registry is read
+    private final ReentrantLock buildLock = new ReentrantLock();
+    //Guards index swaps and changedDuringBuild, held only for in-memory work so committing writers never wait on I/O
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    //Changes applied while a rebuild reads the registry, replayed onto the new index before it is swapped in
+    private Map<String, SwiftCode> changedDuringBuild;
+
+    @EventListener
+    public void onRegistryReloaded(RegistryReloadedEvent event) {
+        if (event.changed() || !ready) {
+            rebuild();
+        }
+    }
+
+    //Applies the row carried by the event instead of rebuilding; a deleted code (null row) is hidden.
+    @EventListener
+    public void onSwiftCodeChanged(SwiftCodeChangedEvent event) {
+        boolean compact;
+        indexLock.lock();
+        try {
+            index = index.with(event.swiftCode(), event.row());
+            if (changedDuringBuild != null) {
+                changedDuringBuild.put(event.swiftCode(), event.row());
+            }
+            compact = index.changeCount() > maxChanges;
+        } finally {
+            indexLock.unlock();
+        }
+        if (compact) {
+            rebuildInBackground();
+        }
+    }
+
+    //Best matches first, at most limit of them.
+    public List<Hit> search(String query, int limit) {
+        if (!ready) {
+            //No import has built it yet (e.g. the startup import failed)
+            rebuildInBackground();
+        }
+        return index.search(query, limit, minSimilarity);
+    }
+
+    public void rebuild() {
+        buildLock.lock();
+        try {
+            indexLock.lock();
+            try {
+                changedDuringBuild = new HashMap<>();
+            } finally {
+                indexLock.unlock();
+            }
+            long start = System.nanoTime();
+            Index built = Index.build(swiftCodeRepository.findAll());
+            indexLock.lock();
+            try {
+                for (Map.Entry<String, SwiftCode> change : changedDuringBuild.entrySet()) {
+                    built = built.with(change.getKey(), change.getValue());
+                }
+                changedDuringBuild = null;
+                index = built;
+            } finally {
+                indexLock.unlock();
+            }
+            ready = true;
+            log.info("Built search index over {} SWIFT codes ({} trigrams) in {} ms", built.size(),
+                    built.trigramCount(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    //At most one background rebuild at a time, further requests while it runs are dropped.
+    private void rebuildInBackground() {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("search-index-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Rebuilding the search index failed", e);
+            } finally {
+                rebuildScheduled.set(false);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("swift.search.index.size", this, s -> s.index.size())
+                .description("SWIFT codes in the search index")
+                .register(registry);
+    }
+
+    private record Candidate(SwiftCode code, int trigrams, double score) {
+    }
+
+    //Immutable index; searches read one instance, changes and rebuilds replace it as a whole.
+    static final class Index {
+
+        static final Index EMPTY = build(List.of());
+
+        private final SwiftCode[] docs;
+        //Distinct trigrams per code, shorter (more specific) records rank first on equal scores
+        private final int[] docTrigrams;
+        private final Map<String, int[]> postings;
+        private final Set<String> docCodes;
+        //Changes since the build by code: the current row, or null once deleted. Docs of these codes are hidden.
+        private final Map<String, SwiftCode> changes;
+        private final int size;
+
+        private Index(SwiftCode[] docs, int[] docTrigrams, Map<String, int[]> postings, Set<String> docCodes,
+                      Map<String, SwiftCode> changes, int size) {
+            this.docs = docs;
+            this.docTrigrams = docTrigrams;
+            this.postings = postings;
+            this.docCodes = docCodes;
+            this.changes = changes;
+            this.size = size;
+        }
+
+        static Index build(List<SwiftCode> codes) {
+            SwiftCode[] docs = codes.toArray(new SwiftCode[0]);
+            int[] docTrigrams = new int[docs.length];
+            Set<String> docCodes = new HashSet<>(docs.length * 4 / 3 + 1);
+            Map<String, IntList> lists = new HashMap<>();
+            for (int doc = 0; doc < docs.length; doc++) {
+                SwiftCode code = docs[doc];
+                docCodes.add(code.getSwiftCode());
+                Set<String> trigrams = trigrams(code);
+                docTrigrams[doc] = trigrams.size();
+                for (String trigram : trigrams) {
+                    lists.computeIfAbsent(trigram, k -> new IntList()).add(doc);
+                }
+            }
+            Map<String, int[]> postings = new HashMap<>(lists.size() * 4 / 3 + 1);
+            lists.forEach((trigram, list) -> postings.put(trigram, list.toArray()));
+            return new Index(docs, docTrigrams, postings, docCodes, Map.of(), docs.length);
+        }
+
+        //Copy with the code's row replaced, or removed if row is null; shares the trigram index with this one.
+        Index with(String swiftCode, SwiftCode row) {
+            boolean present = changes.containsKey(swiftCode) ? changes.get(swiftCode) != null
+                    : docCodes.contains(swiftCode);
+            Map<String, SwiftCode> updated = new HashMap<>(changes);
+            updated.put(swiftCode, row);
+            return new Index(docs, docTrigrams, postings, docCodes, updated,
+                    size - (present ? 1 : 0) + (row != null ? 1 : 0));
+        }
+
+        int size() {
+            return size;
+        }
+
+        int changeCount() {
+            return changes.size();
+        }
+
+        int trigramCount() {
+            return postings.size();
+        }
+
+        List<Hit> search(String query, int limit, double minSimilarity) {
+            Set<String> queryTrigrams = trigrams(query);
+            if (queryTrigrams.isEmpty() || size == 0) {
+                return List.of();
+            }
+            //Count matched query trigrams per code, only codes sharing at least one trigram are touched
+            int[] matches = new int[docs.length];
+            IntList touched = new IntList();
+            for (String trigram : queryTrigrams) {
+                int[] docIds = postings.get(trigram);
+                if (docIds == null) {
+                    continue;
+                }
+                for (int doc : docIds) {
+                    if (matches[doc]++ == 0) {
+                        touched.add(doc);
+                    }
+                }
+            }
+
+            String codePrefix = normalize(query).replace(" ", "");
+            double required = minSimilarity * queryTrigrams.size();
+            List<Candidate> candidates = new ArrayList<>();
+            for (int i = 0; i < touched.size; i++) {
+                int doc = touched.values[i];
+                if (matches[doc] >= required && !changes.containsKey(docs[doc].getSwiftCode())) {
+                    candidates.add(new Candidate(docs[doc], docTrigrams[doc],
+                            score(matches[doc], queryTrigrams.size(), docs[doc], codePrefix)));
+                }
+            }
+            for (SwiftCode row : changes.values()) {
+                if (row == null) {
+                    continue;
+                }
+                Set<String> rowTrigrams = trigrams(row);
+                int matched = 0;
+                for (String trigram : queryTrigrams) {
+                    if (rowTrigrams.contains(trigram)) {
+                        matched++;
+                    }
+                }
+                if (matched > 0 && matched >= required) {
+                    candidates.add(new Candidate(row, rowTrigrams.size(),
+                            score(matched, queryTrigrams.size(), row, codePrefix)));
+                }
+            }
+            candidates.sort(Comparator.comparingDouble(Candidate::score).reversed()
+                    .thenComparingInt(Candidate::trigrams)
+                    .thenComparing(candidate -> candidate.code().getSwiftCode(),
+                            Comparator.nullsLast(Comparator.<String>naturalOrder())));
+
+            List<Hit> result = new ArrayList<>(Math.min(limit, candidates.size()));
+            for (int i = 0; i < candidates.size() && i < limit; i++) {
+                Candidate candidate = candidates.get(i);
+                result.add(new Hit(candidate.code(), candidate.score()));
+            }
+            return result;
+        }
+
+        private static double score(int matched, int queryTrigrams, SwiftCode code, String codePrefix) {
+            double score = (double) matched / queryTrigrams;
+            String swiftCode = code.getSwiftCode();
+            if (swiftCode != null && swiftCode.startsWith(codePrefix)) {
+                score += CODE_PREFIX_BOOST;
+            }
+            return score;
+        }
+    }
+
+    static Set<String> trigrams(SwiftCode code) {
+        Set<String> trigrams = trigrams(code.getSwiftCode());
+        trigrams.addAll(trigrams(code.getBankName()));
+        trigrams.addAll(trigrams(code.getAddress()));
+        return trigrams;
+    }
+
+    //Upper-case letters and digits, everything else separates words.
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        return normalized.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return trigrams;
+        }
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    //Growable int[] for posting lists, avoids boxing while the index is built
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
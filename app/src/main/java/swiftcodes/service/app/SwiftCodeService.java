@@ -1,49 +1,338 @@
 package swiftcodes.service.app;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+//Every public method is timed as swift.service{method=...}
 @Service
+@Timed(value = "swift.service", percentiles = {0.5, 0.99}, histogram = true)
 public class SwiftCodeService {
 
     @Autowired
     private SwiftCodeRepository swiftCodeRepository;
 
+    @Autowired
+    private SwiftCodeCache swiftCodeCache;
+
+    //Present only with swift.registry.in-memory=true; reads are then served from memory, writes go to both.
+    @Autowired(required = false)
+    private RegistryStore registryStore;
+
+    @Autowired
+    private SwiftCodeBatchWriter swiftCodeBatchWriter;
+
+    @Autowired
+    private SwiftCodeSearchIndex swiftCodeSearchIndex;
+
+    @Autowired
+    private CountrySummaryWriter countrySummaryWriter;
+
+    @Autowired
+    private SwiftCodeBloomFilter swiftCodeBloomFilter;
+
+    @Autowired
+    private SwiftCodeChangeLog swiftCodeChangeLog;
+
+    @Autowired
+    private SwiftCodeChangeRepository swiftCodeChangeRepository;
+
+    @Autowired
+    private CountrySummaryRepository countrySummaryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    //Per-item outcome of the batch operations
+    public enum BatchStatus { CREATED, DUPLICATE, DELETED, NOT_FOUND }
+
+    //Keeps IN lists well below the PostgreSQL bind parameter limit
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    //False only if the code is definitely not stored, checked in memory without the cache or the database.
+    public boolean mightExist(String swiftCode) {
+        return swiftCodeBloomFilter.mightContain(Bic.normalize(swiftCode));
+    }
+
     public SwiftCode getSwiftCodeDetails(String swiftCode) {
-        return swiftCodeRepository.findBySwiftCode(swiftCode);
+        //Codes are stored normalized (see SwiftCode.setSwiftCode), so the cache key is too.
+        String key = Bic.normalize(swiftCode);
+        if (!swiftCodeBloomFilter.mightContain(key)) {
+            return null;
+        }
+        if (registryStore != null) {
+            return registryStore.findBySwiftCode(key);
+        }
+        return swiftCodeCache.getCode(key, () -> swiftCodeRepository.findBySwiftCode(key));
+    }
+
+    //Resolves many codes at once; the result is keyed by upper-cased code and holds only the codes that exist.
+    public Map<String, SwiftCode> getSwiftCodeDetails(Collection<String> swiftCodes) {
+        Set<String> keys = new LinkedHashSet<>();
+        swiftCodes.forEach(code -> keys.add(Bic.normalize(code)));
+        keys.removeIf(key -> !swiftCodeBloomFilter.mightContain(key));
+
+        Map<String, SwiftCode> found = new HashMap<>();
+        if (registryStore != null) {
+            for (String key : keys) {
+                SwiftCode code = registryStore.findBySwiftCode(key);
+                if (code != null) {
+                    found.put(key, code);
+                }
+            }
+            return found;
+        }
+        for (List<String> chunk : chunks(keys)) {
+            swiftCodeRepository.findBySwiftCodeIn(chunk).forEach(code -> found.put(code.getSwiftCode(), code));
+        }
+        return found;
     }
 
-    public List<SwiftCode> getSwiftCodesByCountry(String countryISO2) {
-        return swiftCodeRepository.findByCountryISO2(countryISO2.toUpperCase());
+    //Listings are read as SwiftCodeView projections, no entity is hydrated or tracked for them.
+    public List<SwiftCodeView> getSwiftCodesByCountry(String countryISO2) {
+        String key = countryISO2.toUpperCase();
+        if (registryStore != null) {
+            return registryStore.findByCountryISO2(key);
+        }
+        return swiftCodeCache.getCountry(key, () -> swiftCodeRepository.findViewsByCountryISO2(key));
     }
 
+    //Not cached, pages are requested once while a client walks through a country.
+    public List<SwiftCodeView> getSwiftCodesByCountryPage(String countryISO2, String after, int limit) {
+        String key = countryISO2.toUpperCase();
+        String from = after == null ? "" : after.toUpperCase();
+        if (registryStore != null) {
+            return registryStore.findByCountryISO2(key, from, limit);
+        }
+        return swiftCodeRepository.findViewPageByCountryISO2(key, from, Limit.of(limit));
+    }
+
+    //Hands every code of the country to the consumer without collecting them, returns how many were passed.
+    @Transactional(readOnly = true)
+    public int streamSwiftCodesByCountry(String countryISO2, Consumer<SwiftCodeView> consumer) {
+        String key = countryISO2.toUpperCase();
+        if (registryStore != null) {
+            List<SwiftCodeView> codes = registryStore.findByCountryISO2(key);
+            codes.forEach(consumer);
+            return codes.size();
+        }
+        int count = 0;
+        //Projections are not managed, so the persistence context does not grow with the result
+        try (Stream<SwiftCodeView> codes = swiftCodeRepository.streamViewsByCountryISO2(key)) {
+            for (SwiftCodeView code : (Iterable<SwiftCodeView>) codes::iterator) {
+                consumer.accept(code);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Transactional
     public SwiftCode addSwiftCode(SwiftCode swiftCode) {
         //Checking if country fields are empty
         swiftCode.setCountryISO2(checkEmpty(swiftCode.getCountryISO2()));
         swiftCode.setCountryName(checkEmpty(swiftCode.getCountryName()));
-        return swiftCodeRepository.save(swiftCode);
+        //Added before the commit, so the code is never rejected once it is visible
+        swiftCodeBloomFilter.add(List.of(swiftCode.getSwiftCode()));
+        //IDENTITY ids make save insert right away, so the change log below already sees the row
+        SwiftCode saved = swiftCodeRepository.save(swiftCode);
+        countrySummaryWriter.added(List.of(swiftCode));
+        swiftCodeChangeLog.upserted(List.of(swiftCode.getSwiftCode()));
+        afterCommit(() -> {
+            if (registryStore != null) {
+                registryStore.put(swiftCode);
+            }
+            changed(swiftCode.getSwiftCode(), swiftCode.getCountryISO2(), swiftCode);
+        });
+        return saved;
     }
 
     @Transactional
     public void deleteSwiftCode(String swiftCode) {
-        SwiftCode existing = swiftCodeRepository.findBySwiftCode(swiftCode);
+        //Stored codes are canonical, the path may be lower-case or padded (as for GET and the batch delete)
+        String key = Bic.normalize(swiftCode);
+        SwiftCode existing = swiftCodeRepository.findBySwiftCode(key);
         if (existing == null) {
-            throw new APIException("SWIFT_NOT_FOUND", "Swift code " + swiftCode + " not found");
+            throw new APIException("SWIFT_NOT_FOUND", "Swift code " + key + " not found");
         }
         try {
-            swiftCodeRepository.deleteBySwiftCode(swiftCode);
+            swiftCodeRepository.deleteBySwiftCode(key);
+            //The change log below is written through JDBC, the row must be gone before it takes its lock
+            swiftCodeRepository.flush();
         } catch (Exception ex) {
-            throw new APIException("ERR-DELETE", "Failed to delete SWIFT code: " + swiftCode + ". " + ex.getMessage());
+            throw new APIException("ERR-DELETE", "Failed to delete SWIFT code: " + key + ". " + ex.getMessage());
         }
+        countrySummaryWriter.removed(List.of(existing));
+        swiftCodeChangeLog.deleted(List.of(existing));
+        afterCommit(() -> {
+            if (registryStore != null) {
+                registryStore.remove(existing.getSwiftCode());
+            }
+            changed(existing.getSwiftCode(), existing.getCountryISO2(), null);
+        });
+    }
+
+    //Adds all codes in one transaction. Codes already stored (or repeated in the list) are reported as DUPLICATE.
+    @Transactional
+    public Map<String, BatchStatus> addSwiftCodes(List<SwiftCode> swiftCodes) {
+        Map<String, BatchStatus> results = new HashMap<>();
+        Set<String> existing = swiftCodeBatchWriter.findExisting(swiftCodes.stream().map(SwiftCode::getSwiftCode).toList());
+        List<SwiftCode> toInsert = new ArrayList<>();
+        for (SwiftCode code : swiftCodes) {
+            code.setCountryISO2(checkEmpty(code.getCountryISO2()));
+            code.setCountryName(checkEmpty(code.getCountryName()));
+            if (existing.contains(code.getSwiftCode()) || results.containsKey(code.getSwiftCode())) {
+                results.putIfAbsent(code.getSwiftCode(), BatchStatus.DUPLICATE);
+                continue;
+            }
+            results.put(code.getSwiftCode(), BatchStatus.CREATED);
+            toInsert.add(code);
+        }
+        swiftCodeBloomFilter.add(toInsert.stream().map(SwiftCode::getSwiftCode).toList());
+        //A code inserted meanwhile by another transaction is skipped by the insert, it is a DUPLICATE after all
+        Set<String> inserted = swiftCodeBatchWriter.insert(toInsert);
+        List<SwiftCode> created = new ArrayList<>();
+        for (SwiftCode code : toInsert) {
+            if (inserted.contains(code.getSwiftCode())) {
+                created.add(code);
+            } else {
+                results.put(code.getSwiftCode(), BatchStatus.DUPLICATE);
+            }
+        }
+        countrySummaryWriter.added(created);
+        swiftCodeChangeLog.upserted(created.stream().map(SwiftCode::getSwiftCode).toList());
+
+        afterCommit(() -> {
+            if (registryStore != null) {
+                registryStore.putAll(created);
+            }
+            created.forEach(code -> changed(code.getSwiftCode(), code.getCountryISO2(), code));
+        });
+        return results;
+    }
+
+    //Deletes all codes in one transaction; codes that do not exist are reported as NOT_FOUND.
+    @Transactional
+    public Map<String, BatchStatus> deleteSwiftCodes(List<String> swiftCodes) {
+        Set<String> keys = new LinkedHashSet<>();
+        swiftCodes.forEach(code -> keys.add(Bic.normalize(code)));
+
+        //The statement returns the rows it removed, so no entity is read just to learn its country
+        List<SwiftCode> deleted = swiftCodeBatchWriter.deleteReturning(keys);
+        Set<String> found = new HashSet<>();
+        deleted.forEach(code -> found.add(code.getSwiftCode()));
+        Map<String, BatchStatus> results = new HashMap<>();
+        keys.forEach(key -> results.put(key, found.contains(key) ? BatchStatus.DELETED : BatchStatus.NOT_FOUND));
+        countrySummaryWriter.removed(deleted);
+        swiftCodeChangeLog.deleted(deleted);
+
+        afterCommit(() -> {
+            if (registryStore != null) {
+                registryStore.removeAll(found);
+            }
+            deleted.forEach(code -> changed(code.getSwiftCode(), code.getCountryISO2(), null));
+        });
+        return results;
+    }
+
+    //Read from country_summary, a table of one row per country, never from swift_codes.
+    public List<CountrySummary> getCountrySummaries() {
+        return countrySummaryRepository.findAllByOrderByCountryISO2Asc();
+    }
+
+    //Change log entries after since, oldest first.
+    public List<SwiftCodeChange> getChangesSince(long since, int limit) {
+        return swiftCodeChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit));
+    }
+
+    //Null while the log is empty; entries before it were pruned.
+    public Long getOldestChangeSeq() {
+        return swiftCodeChangeRepository.findOldestSeq();
     }
 
-    public List<SwiftCode> getBranchesForHeadquarter(String headquarterSwiftCode) {
+    public List<SwiftCodeView> getBranchesForHeadquarter(String headquarterSwiftCode) {
         //8 characters to find associated branch codes
-        String prefix = headquarterSwiftCode.substring(0, 8);
-        return swiftCodeRepository.findBySwiftCodeStartingWithAndIsHeadquarterFalse(prefix);
+        String prefix = SwiftCode.institutionCodeOf(Bic.normalize(headquarterSwiftCode));
+        if (registryStore != null) {
+            return registryStore.findBranchesByPrefix(prefix);
+        }
+        return swiftCodeCache.getBranches(prefix,
+                () -> swiftCodeRepository.findBranchViewsByInstitutionCode(prefix));
+    }
+
+    //Branches of many headquarters at once, keyed by the 8-character institution code.
+    public Map<String, List<SwiftCodeView>> getBranchesForHeadquarters(Collection<String> headquarterSwiftCodes) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        headquarterSwiftCodes.forEach(code -> prefixes.add(SwiftCode.institutionCodeOf(Bic.normalize(code))));
+
+        Map<String, List<SwiftCodeView>> branches = new HashMap<>();
+        if (registryStore != null) {
+            prefixes.forEach(prefix -> branches.put(prefix, registryStore.findBranchesByPrefix(prefix)));
+            return branches;
+        }
+        for (List<String> chunk : chunks(prefixes)) {
+            for (SwiftCodeView branch : swiftCodeRepository.findBranchViewsByInstitutionCodeIn(chunk)) {
+                branches.computeIfAbsent(branch.institutionCode(), k -> new ArrayList<>()).add(branch);
+            }
+        }
+        return branches;
+    }
+
+    //Ranked typo-tolerant matches of the query against code, bank name and address.
+    public List<SwiftCodeSearchIndex.Hit> searchSwiftCodes(String query, int limit) {
+        return swiftCodeSearchIndex.search(query, limit);
+    }
+
+    //Drops cached reads of the code and tells other listeners (e.g. the response cache) about it.
+    private void changed(String swiftCode, String countryISO2, SwiftCode row) {
+        swiftCodeCache.invalidate(swiftCode, countryISO2);
+        eventPublisher.publishEvent(new SwiftCodeChangedEvent(swiftCode, countryISO2, row));
+    }
+
+    //Readers must not repopulate caches with rows a rollback would bring back, so they are updated after commit only.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static List<List<String>> chunks(Collection<String> values) {
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>(Math.min(values.size(), IN_CHUNK_SIZE));
+        for (String value : values) {
+            current.add(value);
+            if (current.size() == IN_CHUNK_SIZE) {
+                chunks.add(current);
+                current = new ArrayList<>(IN_CHUNK_SIZE);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
     }
 
     private String checkEmpty(String value) {
@@ -0,0 +1,17 @@
+package swiftcodes.service.app;
+
+//Read-only projection of a SwiftCode for listings (country listings, branch lists).
+//Repository queries build it with a JPQL constructor expression, so rows are never hydrated as managed
+//entities or snapshotted for dirty checking, and instances are safe to cache and share.
+public record SwiftCodeView(String swiftCode, String bankName, String address,
+                            String countryISO2, String countryName, Boolean isHeadquarter) {
+
+    public static SwiftCodeView of(SwiftCode code) {
+        return new SwiftCodeView(code.getSwiftCode(), code.getBankName(), code.getAddress(),
+                code.getCountryISO2(), code.getCountryName(), code.getIsHeadquarter());
+    }
+
+    public String institutionCode() {
+        return SwiftCode.institutionCodeOf(swiftCode);
+    }
+}
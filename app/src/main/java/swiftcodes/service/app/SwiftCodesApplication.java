@@ -1,5 +1,6 @@
 package swiftcodes.service.app;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -12,9 +13,16 @@ public class SwiftCodesApplication {
         SpringApplication.run(SwiftCodesApplication.class, args);
     }
 
-    //Loading Excel Data at startup
+    //Loading Excel Data at startup. In async mode the import runs in the background and readiness
+    //(registryImport health) stays out of service until it has committed.
     @Bean
-    CommandLineRunner init(ExcelLoaderService csvLoaderService) {
-        return args -> csvLoaderService.loadExcelData();
+    CommandLineRunner init(ExcelLoaderService excelLoaderService, @Value("${swift.import.mode:sync}") String importMode) {
+        return args -> {
+            if ("async".equalsIgnoreCase(importMode)) {
+                Thread.ofPlatform().name("registry-import").daemon().start(excelLoaderService::loadExcelData);
+            } else {
+                excelLoaderService.loadExcelData();
+            }
+        };
     }
 }
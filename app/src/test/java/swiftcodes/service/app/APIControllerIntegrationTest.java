@@ -7,19 +7,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,6 +45,9 @@ class APIControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @MockBean
     private SwiftCodeService swiftCodeService;
 
@@ -50,9 +59,11 @@ class APIControllerIntegrationTest {
     public void setup() {
         //Clean database and add test data before each test
         swiftCodeRepository.deleteAll();
+        //No Bloom filter verdict by default, lookups go to the mocked service
+        when(swiftCodeService.mightExist(anyString())).thenReturn(true);
 
         sampleHQ = new SwiftCode();
-        sampleHQ.setSwiftCode("SMPHQ001XXX");
+        sampleHQ.setSwiftCode("SMPHUS01XXX");
         sampleHQ.setBankName("Sample Bank HQ");
         sampleHQ.setAddress("HQ Sample Address");
         sampleHQ.setCountryISO2("us");  // intentionally lowercase to test formatting
@@ -60,7 +71,7 @@ class APIControllerIntegrationTest {
         sampleHQ.setIsHeadquarter(true);
 
         sampleBranch = new SwiftCode();
-        sampleBranch.setSwiftCode("SMPHQ001001");
+        sampleBranch.setSwiftCode("SMPHUS01001");
         sampleBranch.setBankName("Sample Bank Branch");
         sampleBranch.setAddress("Branch Sample Address");
         sampleBranch.setCountryISO2("us");  // intentionally lowercase
@@ -76,6 +87,18 @@ class APIControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("SWIFT code not found: INVALID"));
     }
 
+    @Test
+    void testMalformedCodes_rejectedBeforeLookup() throws Exception {
+        mockMvc.perform(get("/v1/swift-codes/BR3XPLPWXXX"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/v1/swift-codes/BREXPLPW-XX"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error_code", is("INVALID_SWIFT_CODE")));
+        verify(swiftCodeService, never()).mightExist(anyString());
+        verify(swiftCodeService, never()).getSwiftCodeDetails(anyString());
+        verify(swiftCodeService, never()).deleteSwiftCode(anyString());
+    }
+
     @Test
     void testGetSwiftCode_notFound_2() throws Exception {
         when(swiftCodeService.getSwiftCodeDetails("UNKNOWN")).thenReturn(null);
@@ -88,7 +111,7 @@ class APIControllerIntegrationTest {
     void testAddSwiftCode_withEmptyFields() throws Exception {
         // Creating a new swift code with some empty fields.
         SwiftCode newCode = new SwiftCode();
-        newCode.setSwiftCode("NEWSWFT02XXX");
+        newCode.setSwiftCode("NEWSGB22XXX");
         newCode.setBankName(""); // Empty field should fail validity check
         newCode.setAddress("Some Address");
         newCode.setCountryISO2("GB");
@@ -104,7 +127,7 @@ class APIControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("SWIFT code added successfully"));
 
         //Verify that the saved entity is returning null after failing validity check
-        SwiftCode saved = swiftCodeRepository.findBySwiftCode("NEWSWFT02XXX");
+        SwiftCode saved = swiftCodeRepository.findBySwiftCode("NEWSGB22XXX");
         assertThat(saved).isNull();
     }
 
@@ -120,9 +143,9 @@ class APIControllerIntegrationTest {
 
     @Test
     void testDeleteSwiftCode() throws Exception {
-        doNothing().when(swiftCodeService).deleteSwiftCode("US123XXX");
+        doNothing().when(swiftCodeService).deleteSwiftCode("USBKUS33XXX");
 
-        mockMvc.perform(delete("/v1/swift-codes/US123XXX"))
+        mockMvc.perform(delete("/v1/swift-codes/USBKUS33XXX"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("SWIFT code deleted successfully"));
     }
@@ -152,19 +175,19 @@ class APIControllerIntegrationTest {
         code.setCountryISO2("US");
         code.setCountryName("United States");
         code.setIsHeadquarter(true);
-        code.setSwiftCode("US123XXX");
+        code.setSwiftCode("USBKUS33XXX");
 
-        when(swiftCodeService.getSwiftCodeDetails("US123XXX")).thenReturn(code);
+        when(swiftCodeService.getSwiftCodeDetails("USBKUS33XXX")).thenReturn(code);
         //No branches returned for simplicity.
-        when(swiftCodeService.getBranchesForHeadquarter("US123XXX")).thenReturn(Arrays.asList());
+        when(swiftCodeService.getBranchesForHeadquarter("USBKUS33XXX")).thenReturn(Arrays.asList());
 
-        mockMvc.perform(get("/v1/swift-codes/US123XXX"))
+        mockMvc.perform(get("/v1/swift-codes/USBKUS33XXX"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.address").value("123 Main St"))
                 .andExpect(jsonPath("$.bankName").value("Test Bank"))
                 .andExpect(jsonPath("$.countryISO2").value("US"))
                 .andExpect(jsonPath("$.isHeadquarter").value(true))
-                .andExpect(jsonPath("$.swiftCode").value("US123XXX"));
+                .andExpect(jsonPath("$.swiftCode").value("USBKUS33XXX"));
     }
 
     // ----------------------
@@ -175,32 +198,32 @@ class APIControllerIntegrationTest {
     void testGetSwiftCode_HQ_ResponseFormat() throws Exception {
         //When a HQ is requested, the top-level response should include countryName,
         //while each branch entry (if any) should have countryName omitted (null).
-        when(swiftCodeService.getSwiftCodeDetails("SMPHQ001XXX")).thenReturn(sampleHQ);
-        when(swiftCodeService.getBranchesForHeadquarter("SMPHQ001XXX"))
-                .thenReturn(Arrays.asList(sampleBranch));
+        when(swiftCodeService.getSwiftCodeDetails("SMPHUS01XXX")).thenReturn(sampleHQ);
+        when(swiftCodeService.getBranchesForHeadquarter("SMPHUS01XXX"))
+                .thenReturn(Arrays.asList(SwiftCodeView.of(sampleBranch)));
 
-        mockMvc.perform(get("/v1/swift-codes/SMPHQ001XXX"))
+        mockMvc.perform(get("/v1/swift-codes/SMPHUS01XXX"))
                 .andExpect(status().isOk())
                 // Check top-level fields exist and are strings
-                .andExpect(jsonPath("$.swiftCode", is("SMPHQ001XXX")))
+                .andExpect(jsonPath("$.swiftCode", is("SMPHUS01XXX")))
                 .andExpect(jsonPath("$.bankName", is("Sample Bank HQ")))
                 .andExpect(jsonPath("$.countryISO2", is("us")))
                 .andExpect(jsonPath("$.countryName", is("united states")))
                 .andExpect(jsonPath("$.isHeadquarter", is(true)))
                 // Check branches exists and each branch's countryName is null.
                 .andExpect(jsonPath("$.branches", is(notNullValue())))
-                .andExpect(jsonPath("$.branches[0].swiftCode", is("SMPHQ001001")))
+                .andExpect(jsonPath("$.branches[0].swiftCode", is("SMPHUS01001")))
                 .andExpect(jsonPath("$.branches[0].countryName").doesNotExist());
     }
 
     @Test
     void testGetSwiftCode_Branch_ResponseFormat() throws Exception {
         // When a branch is requested, the response should include countryName at top level.
-        when(swiftCodeService.getSwiftCodeDetails("SMPHQ001001")).thenReturn(sampleBranch);
+        when(swiftCodeService.getSwiftCodeDetails("SMPHUS01001")).thenReturn(sampleBranch);
 
-        mockMvc.perform(get("/v1/swift-codes/SMPHQ001001"))
+        mockMvc.perform(get("/v1/swift-codes/SMPHUS01001"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.swiftCode", is("SMPHQ001001")))
+                .andExpect(jsonPath("$.swiftCode", is("SMPHUS01001")))
                 .andExpect(jsonPath("$.bankName", is("Sample Bank Branch")))
                 .andExpect(jsonPath("$.countryISO2", is("us")))
                 .andExpect(jsonPath("$.countryName", is("united states")))
@@ -209,6 +232,39 @@ class APIControllerIntegrationTest {
                 .andExpect(jsonPath("$.branches").doesNotExist());
     }
 
+    @Test
+    void testGetSwiftCode_ETag_NotModified() throws Exception {
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode("ETAGPLPW001");
+        code.setBankName("ETag Bank");
+        code.setAddress("ETag Address");
+        code.setCountryISO2("PL");
+        code.setCountryName("POLAND");
+        code.setIsHeadquarter(false);
+        when(swiftCodeService.getSwiftCodeDetails("ETAGPLPW001")).thenReturn(code);
+
+        String etag = mockMvc.perform(get("/v1/swift-codes/ETAGPLPW001"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/v1/swift-codes/ETAGPLPW001").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        //Served from the cached bytes, the service is asked only once
+        verify(swiftCodeService, times(1)).getSwiftCodeDetails("ETAGPLPW001");
+    }
+
+    @Test
+    void testGetSwiftCode_definiteMiss_skipsLookup() throws Exception {
+        when(swiftCodeService.mightExist("NOBANKXXXXX")).thenReturn(false);
+
+        mockMvc.perform(get("/v1/swift-codes/NOBANKXXXXX"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("SWIFT code not found: NOBANKXXXXX")));
+        verify(swiftCodeService, never()).getSwiftCodeDetails(anyString());
+    }
+
     @Test
     void testGetSwiftCode_NotFound_ErrorResponse() throws Exception {
         // When the service returns null, the API should return a 404 error.
@@ -227,15 +283,15 @@ class APIControllerIntegrationTest {
     void testGetSwiftCodesByCountry_ResponseFormat() throws Exception {
         // Given a mix of HQ and branch codes for a country, ensure that the top-level countryName is present,
         // but none of the entries in swiftCodes array include countryName.
-        List<SwiftCode> codes = Arrays.asList(sampleHQ, sampleBranch);
-        when(swiftCodeService.getSwiftCodesByCountry("US")).thenReturn(codes);
-
         //This test simulate that our sample objects already have uppercase country fields.
         sampleHQ.setCountryISO2("US");
         sampleHQ.setCountryName("UNITED STATES");
         sampleBranch.setCountryISO2("US");
         sampleBranch.setCountryName("UNITED STATES");
 
+        List<SwiftCodeView> codes = Arrays.asList(SwiftCodeView.of(sampleHQ), SwiftCodeView.of(sampleBranch));
+        when(swiftCodeService.getSwiftCodesByCountry("US")).thenReturn(codes);
+
         mockMvc.perform(get("/v1/swift-codes/country/US"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.countryISO2", is("US")))
@@ -256,6 +312,203 @@ class APIControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", containsString("No SWIFT codes found for country")));
     }
 
+    @Test
+    void testGetSwiftCodesByCountry_Paged() throws Exception {
+        //A full page carries the cursor for the next one.
+        when(swiftCodeService.getSwiftCodesByCountryPage("US", null, 2)).thenReturn(Arrays.asList(SwiftCodeView.of(sampleBranch), SwiftCodeView.of(sampleHQ)));
+
+        mockMvc.perform(get("/v1/swift-codes/country/US").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.swiftCodes", hasSize(2)))
+                .andExpect(jsonPath("$.nextAfter", is("SMPHUS01XXX")));
+
+        mockMvc.perform(get("/v1/swift-codes/country/US").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetSwiftCodesByCountry_ConditionalGet() throws Exception {
+        when(swiftCodeService.getSwiftCodesByCountry("US")).thenReturn(List.of(SwiftCodeView.of(sampleHQ)));
+
+        MockHttpServletResponse first = mockMvc.perform(get("/v1/swift-codes/country/US"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse();
+        String etag = first.getHeader("ETag");
+
+        //Unchanged country: 304 without reading it again
+        mockMvc.perform(get("/v1/swift-codes/country/US").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/v1/swift-codes/country/US").header("If-Modified-Since", first.getHeader("Last-Modified")))
+                .andExpect(status().isNotModified());
+        verify(swiftCodeService, times(1)).getSwiftCodesByCountry("US");
+
+        //A change in another country keeps the tag, a change in this one replaces it
+        eventPublisher.publishEvent(new SwiftCodeChangedEvent("BANKDEFFXXX", "DE", null));
+        mockMvc.perform(get("/v1/swift-codes/country/US").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        eventPublisher.publishEvent(new SwiftCodeChangedEvent("SMPHUS01001", "US", sampleBranch));
+        mockMvc.perform(get("/v1/swift-codes/country/US").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    void testJson_compactUnlessPrettyRequested() throws Exception {
+        when(swiftCodeService.getSwiftCodesByCountry("US")).thenReturn(List.of(SwiftCodeView.of(sampleHQ)));
+        when(swiftCodeService.getSwiftCodeDetails("SMPHUS01001")).thenReturn(sampleBranch);
+
+        mockMvc.perform(get("/v1/swift-codes/country/US"))
+                .andExpect(content().string(not(containsString("\n"))));
+        mockMvc.perform(get("/v1/swift-codes/country/US").param("pretty", ""))
+                .andExpect(content().string(containsString("\n  \"countryISO2\" : \"US\"")));
+
+        String compactTag = mockMvc.perform(get("/v1/swift-codes/SMPHUS01001"))
+                .andExpect(content().string(not(containsString("\n"))))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/v1/swift-codes/SMPHUS01001").param("pretty", "true"))
+                .andExpect(content().string(containsString("\n  \"swiftCode\" : \"SMPHUS01001\"")))
+                .andExpect(header().string("ETag", not(compactTag)));
+    }
+
+    @Test
+    void testStreamSwiftCodesByCountry_Ndjson() throws Exception {
+        when(swiftCodeService.streamSwiftCodesByCountry(eq("US"), any())).thenAnswer(invocation -> {
+            Consumer<SwiftCodeView> consumer = invocation.getArgument(1);
+            consumer.accept(SwiftCodeView.of(sampleHQ));
+            consumer.accept(SwiftCodeView.of(sampleBranch));
+            return 2;
+        });
+
+        mockMvc.perform(get("/v1/swift-codes/country/US/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"swiftCode\":\"SMPHUS01XXX\"}\n{")));
+    }
+
+    @Test
+    void testGetCountrySummaries() throws Exception {
+        when(swiftCodeService.getCountrySummaries()).thenReturn(List.of(
+                new CountrySummary("PL", "POLAND", 1, 2),
+                new CountrySummary("US", "UNITED STATES", 3, 0)));
+
+        mockMvc.perform(get("/v1/swift-codes/countries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(6)))
+                .andExpect(jsonPath("$.countries", hasSize(2)))
+                .andExpect(jsonPath("$.countries[0].countryISO2", is("PL")))
+                .andExpect(jsonPath("$.countries[0].countryName", is("POLAND")))
+                .andExpect(jsonPath("$.countries[0].total", is(3)))
+                .andExpect(jsonPath("$.countries[0].headquarters", is(1)))
+                .andExpect(jsonPath("$.countries[0].branches", is(2)))
+                .andExpect(jsonPath("$.countries[1].branches", is(0)));
+    }
+
+    @Test
+    void testGetChanges() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        when(swiftCodeService.getOldestChangeSeq()).thenReturn(1L);
+        when(swiftCodeService.getChangesSince(4L, 1000)).thenReturn(List.of(
+                new SwiftCodeChange(5, "SMPHUS01XXX", "US", SwiftCodeChange.Operation.UPSERT, now),
+                new SwiftCodeChange(6, "SMPHUS01001", "US", SwiftCodeChange.Operation.DELETE, now)));
+        when(swiftCodeService.getSwiftCodeDetails(anyCollection())).thenReturn(Map.of("SMPHUS01XXX", sampleHQ));
+
+        mockMvc.perform(get("/v1/swift-codes/changes").param("since", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastSeq", is(6)))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].operation", is("UPSERT")))
+                .andExpect(jsonPath("$.changes[0].code.bankName", is("Sample Bank HQ")))
+                .andExpect(jsonPath("$.changes[1].operation", is("DELETE")))
+                .andExpect(jsonPath("$.changes[1].code").doesNotExist());
+    }
+
+    @Test
+    void testGetChanges_expired() throws Exception {
+        when(swiftCodeService.getOldestChangeSeq()).thenReturn(100L);
+
+        mockMvc.perform(get("/v1/swift-codes/changes").param("since", "42"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error_code", is("CHANGES_EXPIRED")));
+    }
+
+    @Test
+    void testLookupSwiftCodes_keepsInputOrder() throws Exception {
+        when(swiftCodeService.getSwiftCodeDetails(anyCollection()))
+                .thenReturn(Map.of("SMPHUS01XXX", sampleHQ, "SMPHUS01001", sampleBranch));
+        when(swiftCodeService.getBranchesForHeadquarters(anyCollection()))
+                .thenReturn(Map.of("SMPHUS01", List.of(SwiftCodeView.of(sampleBranch))));
+
+        mockMvc.perform(post("/v1/swift-codes/lookup").param("includeBranches", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"SMPHUS01001\", \"MISSING1XXX\", \"smphus01xxx\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found", hasSize(2)))
+                .andExpect(jsonPath("$.found[0].swiftCode", is("SMPHUS01001")))
+                .andExpect(jsonPath("$.found[0].branches").doesNotExist())
+                .andExpect(jsonPath("$.found[1].swiftCode", is("SMPHUS01XXX")))
+                .andExpect(jsonPath("$.found[1].branches", hasSize(1)))
+                .andExpect(jsonPath("$.notFound[0]", is("MISSING1XXX")));
+    }
+
+    @Test
+    void testResponseRecords_keepJsonContract() throws Exception {
+        //Field order, null values and omitted fields as written by the former map responses
+        String hq = "{\"address\":\"HQ Sample Address\",\"bankName\":\"Sample Bank HQ\",\"countryISO2\":\"us\","
+                + "\"countryName\":\"united states\",\"isHeadquarter\":true,\"swiftCode\":\"SMPHUS01XXX\"";
+        String branchEntry = "{\"address\":\"Branch Sample Address\",\"bankName\":\"Sample Bank Branch\","
+                + "\"countryISO2\":\"us\",\"isHeadquarter\":false,\"swiftCode\":\"SMPHUS01001\"}";
+
+        when(swiftCodeService.getSwiftCodeDetails(anyCollection())).thenReturn(Map.of("SMPHUS01XXX", sampleHQ));
+        when(swiftCodeService.getBranchesForHeadquarters(anyCollection()))
+                .thenReturn(Map.of("SMPHUS01", List.of(SwiftCodeView.of(sampleBranch))));
+        mockMvc.perform(post("/v1/swift-codes/lookup").param("includeBranches", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"SMPHUS01XXX\"]"))
+                .andExpect(content().string("{\"found\":[" + hq + ",\"branches\":[" + branchEntry + "]}],\"notFound\":[]}"));
+
+        when(swiftCodeService.getSwiftCodesByCountryPage("US", "SMPHUS01000", 5)).thenReturn(List.of(SwiftCodeView.of(sampleBranch)));
+        mockMvc.perform(get("/v1/swift-codes/country/US").param("after", "SMPHUS01000").param("limit", "5"))
+                .andExpect(content().string("{\"countryISO2\":\"US\",\"countryName\":\"united states\",\"swiftCodes\":["
+                        + branchEntry + "],\"nextAfter\":null}"));
+
+        when(swiftCodeService.searchSwiftCodes("sample", 20)).thenReturn(List.of(new SwiftCodeSearchIndex.Hit(sampleHQ, 0.8)));
+        mockMvc.perform(get("/v1/swift-codes/search").param("q", "sample"))
+                .andExpect(content().string("{\"query\":\"sample\",\"results\":[" + hq + ",\"score\":0.8}]}"));
+    }
+
+    @Test
+    void testLookupSwiftCodes_emptyPayload() throws Exception {
+        mockMvc.perform(post("/v1/swift-codes/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchSwiftCodes() throws Exception {
+        when(swiftCodeService.searchSwiftCodes("sample bnk", 20))
+                .thenReturn(List.of(new SwiftCodeSearchIndex.Hit(sampleHQ, 0.8), new SwiftCodeSearchIndex.Hit(sampleBranch, 0.6)));
+
+        mockMvc.perform(get("/v1/swift-codes/search").param("q", "sample bnk"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query", is("sample bnk")))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[0].swiftCode", is("SMPHUS01XXX")))
+                .andExpect(jsonPath("$.results[0].isHeadquarter", is(true)))
+                .andExpect(jsonPath("$.results[0].score", is(0.8)))
+                .andExpect(jsonPath("$.results[1].isHeadquarter", is(false)));
+    }
+
+    @Test
+    void testSearchSwiftCodes_queryTooShort() throws Exception {
+        mockMvc.perform(get("/v1/swift-codes/search").param("q", " a "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error_code", is("INVALID_QUERY")));
+    }
+
     // ----------------------
     // Endpoint 3: POST /v1/swift-codes
     // ----------------------
@@ -280,6 +533,41 @@ class APIControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testAddSwiftCodes_Batch_PerItemResults() throws Exception {
+        when(swiftCodeService.addSwiftCodes(anyList()))
+                .thenReturn(Map.of("SMPHUS01XXX", SwiftCodeService.BatchStatus.CREATED,
+                        "SMPHUS01001", SwiftCodeService.BatchStatus.DUPLICATE));
+
+        Map<String, Object> invalid = new LinkedHashMap<>();
+        invalid.put("swiftCode", "BROKEN01XXX");
+        String json = objectMapper.writeValueAsString(List.of(sampleHQ, invalid, sampleBranch));
+
+        mockMvc.perform(post("/v1/swift-codes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(3)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[1].status", is("INVALID_PAYLOAD")))
+                .andExpect(jsonPath("$.results[2].status", is("DUPLICATE")))
+                .andExpect(jsonPath("$.summary.CREATED", is(1)));
+    }
+
+    @Test
+    void testDeleteSwiftCodes_Batch_PerItemResults() throws Exception {
+        when(swiftCodeService.deleteSwiftCodes(anyList()))
+                .thenReturn(Map.of("SMPHUS01XXX", SwiftCodeService.BatchStatus.DELETED,
+                        "MISSING1XXX", SwiftCodeService.BatchStatus.NOT_FOUND));
+
+        mockMvc.perform(delete("/v1/swift-codes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"smphus01xxx\", \"MISSING1XXX\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status", is("DELETED")))
+                .andExpect(jsonPath("$.results[1].status", is("NOT_FOUND")));
+    }
+
     // ----------------------
     // Endpoint 4: DELETE /v1/swift-codes/{swiftCode}
     // ----------------------
@@ -0,0 +1,71 @@
+package swiftcodes.service.app;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BicTest {
+
+    @Test
+    void testParse_validCodes() {
+        Bic headquarter = Bic.parse("BREXPLPWXXX");
+        assertThat(headquarter).isNotNull();
+        assertThat(headquarter.toString()).isEqualTo("BREXPLPWXXX");
+        assertThat(headquarter.isHeadquarter()).isTrue();
+        assertThat(headquarter.institutionCode()).isEqualTo("BREXPLPW");
+        assertThat(headquarter.countryCode()).isEqualTo("PL");
+
+        Bic branch = Bic.parse(" brexplpw0a1 ");
+        assertThat(branch.toString()).isEqualTo("BREXPLPW0A1");
+        assertThat(branch.isHeadquarter()).isFalse();
+
+        //Only branch code XXX marks a headquarter, an 8-character code has none
+        Bic bic8 = Bic.parse("DEUTDEFF");
+        assertThat(bic8.toString()).isEqualTo("DEUTDEFF");
+        assertThat(bic8.isHeadquarter()).isFalse();
+        assertThat(bic8.institutionCode()).isEqualTo("DEUTDEFF");
+    }
+
+    @Test
+    void testParse_rejectsMalformedCodes() {
+        assertThat(Bic.parse(null)).isNull();
+        assertThat(Bic.parse("")).isNull();
+        assertThat(Bic.parse("BREXPLP")).isNull();          //too short
+        assertThat(Bic.parse("BREXPLPWXX")).isNull();       //9 or 10 characters
+        assertThat(Bic.parse("BREXPLPWXXXX")).isNull();     //too long
+        assertThat(Bic.parse("BR3XPLPWXXX")).isNull();      //digit in the bank code
+        assertThat(Bic.parse("BREXP1PWXXX")).isNull();      //digit in the country code
+        assertThat(Bic.parse("BREXPLPW-XX")).isNull();
+        assertThat(Bic.parse("BREX PLPWXXX")).isNull();
+    }
+
+    @Test
+    void testEncode_caseInsensitiveAndReversible() {
+        assertThat(Bic.encode("brexplpwxxx")).isEqualTo(Bic.encode("BREXPLPWXXX"));
+        assertThat(Bic.encode("BREXPLPW")).isNotEqualTo(Bic.encode("BREXPLPWXXX"));
+        assertThat(Bic.encode("ZZZZZZZZZZZ")).isPositive();
+        assertThat(Bic.toString(Bic.encode("ZZZZZZ99ZZZ"))).isEqualTo("ZZZZZZ99ZZZ");
+        assertThat(Bic.toString(Bic.encode("AAAAAA00000"))).isEqualTo("AAAAAA00000");
+    }
+
+    @Test
+    void testCanonical_keepsCanonicalInstance() {
+        String code = "BREXPLPWXXX";
+        assertThat(Bic.canonical(code)).isSameAs(code);
+        assertThat(Bic.canonical("brexplpwxxx")).isEqualTo(code);
+        assertThat(Bic.canonical(" BREXPLPWXXX")).isEqualTo(code);
+        assertThat(Bic.canonical("NOTACODE1")).isNull();
+        assertThat(Bic.normalize("test123")).isEqualTo("TEST123");
+    }
+
+    @Test
+    void testRegistryRow_skipsMalformedCodes() {
+        String[] cells = {"PL", "BREXPLPW00", "BIC11", "MBANK", "ADDRESS", "WARSZAWA", "POLAND"};
+        assertThat(RegistryRow.toSwiftCode(cells)).isNull();
+
+        cells[RegistryRow.COL_SWIFT_CODE] = "brexplpwxxx";
+        SwiftCode code = RegistryRow.toSwiftCode(cells);
+        assertThat(code.getSwiftCode()).isEqualTo("BREXPLPWXXX");
+        assertThat(code.getIsHeadquarter()).isTrue();
+    }
+}
@@ -0,0 +1,112 @@
+package swiftcodes.service.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class InMemoryRegistryStoreTest {
+
+    private InMemoryRegistryStore store;
+
+    @BeforeEach
+    public void setup() {
+        store = new InMemoryRegistryStore();
+        store.replaceAll(List.of(
+                code("BREXPLPWXXX", "PL", true),
+                code("BREXPLPW001", "PL", false),
+                code("BREXPLPW002", "PL", false),
+                code("AAISALTRXXX", "AL", true),
+                code("USXYZXXX", "US", true)));
+    }
+
+    @Test
+    void testFindBySwiftCode() {
+        SwiftCode found = store.findBySwiftCode("BREXPLPW001");
+        assertThat(found).isNotNull();
+        assertThat(found.getBankName()).isEqualTo("Bank BREXPLPW001");
+        assertThat(found.getIsHeadquarter()).isFalse();
+
+        //8-character codes are padded internally and must not match 11-character keys
+        assertThat(store.findBySwiftCode("USXYZXXX")).isNotNull();
+        assertThat(store.findBySwiftCode("BREXPLPW")).isNull();
+        assertThat(store.findBySwiftCode("UNKNOWN0XXX")).isNull();
+    }
+
+    @Test
+    void testFindBranchesByPrefix_excludesHeadquarter() {
+        List<SwiftCodeView> branches = store.findBranchesByPrefix("BREXPLPW");
+        assertThat(branches).extracting(SwiftCodeView::swiftCode).containsExactly("BREXPLPW001", "BREXPLPW002");
+        assertThat(store.findBranchesByPrefix("ZZZZZZZZ")).isEmpty();
+    }
+
+    @Test
+    void testFindByCountryISO2() {
+        assertThat(store.findByCountryISO2("PL")).hasSize(3);
+        assertThat(store.findByCountryISO2("ZZ")).isEmpty();
+    }
+
+    @Test
+    void testPutAndRemove() {
+        store.put(code("BREXPLPW003", "PL", false));
+        assertThat(store.findBranchesByPrefix("BREXPLPW")).hasSize(3);
+        assertThat(store.size()).isEqualTo(6);
+
+        store.remove("BREXPLPW001");
+        assertThat(store.findBySwiftCode("BREXPLPW001")).isNull();
+        assertThat(store.findByCountryISO2("PL")).hasSize(3);
+        assertThat(store.estimatedHeapBytes()).isPositive();
+    }
+
+    @Test
+    void testPutKeepsCodeOrderAndCountryIndex() {
+        store.put(code("AAAAPLPWXXX", "PL", true));
+        store.put(code("BREXPLPW001", "DE", false));
+
+        assertThat(store.findByCountryISO2("PL")).extracting(SwiftCodeView::swiftCode)
+                .containsExactly("AAAAPLPWXXX", "BREXPLPW002", "BREXPLPWXXX");
+        assertThat(store.findByCountryISO2("DE")).extracting(SwiftCodeView::swiftCode).containsExactly("BREXPLPW001");
+        assertThat(store.findByCountryISO2("PL", "AAAAPLPWXXX", 1)).extracting(SwiftCodeView::swiftCode)
+                .containsExactly("BREXPLPW002");
+        assertThat(store.findBySwiftCode("AAISALTRXXX").getCountryISO2()).isEqualTo("AL");
+    }
+
+    @Test
+    void testRowsForCountry_returnsCopy() {
+        RegistrySnapshot snapshot = RegistrySnapshot.build(List.of(
+                RegistrySnapshot.Entry.of(code("BREXPLPWXXX", "PL", true))));
+        snapshot.rowsForCountry("PL")[0] = 42;
+        assertThat(snapshot.rowsForCountry("PL")).containsExactly(0);
+    }
+
+    @Test
+    void testLoad_fillsStoreWithoutAnImport() {
+        SwiftCodeRepository repository = mock(SwiftCodeRepository.class);
+        when(repository.findAll()).thenReturn(List.of(code("BREXPLPWXXX", "PL", true)));
+        InMemoryRegistryStore loaded = new InMemoryRegistryStore();
+        ReflectionTestUtils.setField(loaded, "swiftCodeRepository", repository);
+
+        //Startup, before an async import has finished (or after it failed)
+        loaded.load();
+        assertThat(loaded.findBySwiftCode("BREXPLPWXXX")).isNotNull();
+
+        //An import that wrote nothing leaves the loaded snapshot alone
+        loaded.onRegistryReloaded(new RegistryReloadedEvent(false, 0));
+        verify(repository, times(1)).findAll();
+    }
+
+    private static SwiftCode code(String swiftCode, String country, boolean hq) {
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode(swiftCode);
+        code.setBankName("Bank " + swiftCode);
+        code.setAddress("Address " + swiftCode);
+        code.setCountryISO2(country);
+        code.setCountryName("Country " + country);
+        code.setIsHeadquarter(hq);
+        return code;
+    }
+}
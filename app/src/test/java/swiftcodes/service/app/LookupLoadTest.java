@@ -0,0 +1,114 @@
+package swiftcodes.service.app;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//Fires a few thousand concurrent GET /v1/swift-codes/{swiftCode} calls and prints throughput and latency.
+//Run both subclasses with ./gradlew loadTest to compare platform and virtual request threads.
+//Both runs share the connection pool settings below, so only the thread model differs. The entity, country and response
+//caches are disabled and the in-memory store is off, so every request reads PostgreSQL; the Bloom filter only
+//short-circuits unknown codes and every code requested here exists.
+@Tag("load")
+abstract class LookupLoadTest {
+
+    static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size=40";
+    static final String POOL_TIMEOUT = "spring.datasource.hikari.connection-timeout=3000";
+    static final String NO_CACHE = "swift.cache.max-size=0";
+    static final String NO_COUNTRY_CACHE = "swift.cache.country-max-size=0";
+    static final String NO_RESPONSE_CACHE = "swift.response-cache.max-size=0";
+    static final String NO_STORE = "swift.registry.in-memory=false";
+
+    private static final int CONCURRENCY = Integer.getInteger("loadTest.concurrency", 2000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadTest.requestsPerClient", 10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SwiftCodeRepository swiftCodeRepository;
+
+    @Test
+    void concurrentLookups() throws Exception {
+        List<String> codes = swiftCodeRepository.findAll(PageRequest.of(0, 500)).map(SwiftCode::getSwiftCode).toList();
+        assertThat(codes).isNotEmpty();
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        long[] latencies = new long[CONCURRENCY * REQUESTS_PER_CLIENT];
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(CONCURRENCY);
+            for (int c = 0; c < CONCURRENCY; c++) {
+                int clientId = c;
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        int slot = clientId * REQUESTS_PER_CLIENT + r;
+                        String code = codes.get(slot % codes.size());
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/v1/swift-codes/" + code)).GET().build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[slot] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        System.out.printf("[%s] %d requests, %d concurrent: %.0f req/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms, %d failed%n",
+                getClass().getSimpleName(), latencies.length, CONCURRENCY, latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6,
+                failures.get());
+        assertThat(failures.get()).isZero();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.threads.virtual.enabled=false", POOL_SIZE, POOL_TIMEOUT,
+                    NO_CACHE, NO_COUNTRY_CACHE, NO_RESPONSE_CACHE, NO_STORE})
+    @TestPropertySource(locations = "classpath:application-test.properties")
+    static class PlatformThreads extends LookupLoadTest {
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.threads.virtual.enabled=true", POOL_SIZE, POOL_TIMEOUT,
+                    NO_CACHE, NO_COUNTRY_CACHE, NO_RESPONSE_CACHE, NO_STORE})
+    @TestPropertySource(locations = "classpath:application-test.properties")
+    static class VirtualThreads extends LookupLoadTest {
+    }
+}
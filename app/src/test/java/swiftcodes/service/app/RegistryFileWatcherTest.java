@@ -0,0 +1,114 @@
+package swiftcodes.service.app;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+//Drives the watcher with a mocked WatchService, so no test waits for real file events
+//(some platforms only poll for them, e.g. every 10 s on macOS).
+@ExtendWith(MockitoExtension.class)
+class RegistryFileWatcherTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private ExcelLoaderService excelLoaderService;
+
+    //Not a @Mock, so it is not injected into the watcher
+    private final WatchService watchService = mock(WatchService.class);
+
+    @InjectMocks
+    private RegistryFileWatcher watcher;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        watcher.stop();
+    }
+
+    @Test
+    void testBurstOfWritesIsOneChange() throws Exception {
+        configure(dir.resolve("SWIFT_CODES.xlsx"));
+        //A copy shows up as several events, each arriving within the debounce period of the previous one
+        WatchKey first = key("SWIFT_CODES.xlsx");
+        WatchKey second = key("SWIFT_CODES.xlsx");
+        WatchKey third = key("SWIFT_CODES.xlsx");
+        when(watchService.take()).thenReturn(first);
+        when(watchService.poll(200, TimeUnit.MILLISECONDS)).thenReturn(second, third, null);
+
+        assertThat(watcher.awaitChange(watchService)).isTrue();
+        verify(watchService, times(1)).take();
+        verify(watchService, times(3)).poll(200, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void testIgnoresOtherFilesNextToFileSource() throws Exception {
+        configure(dir.resolve("SWIFT_CODES.xlsx"));
+        WatchKey others = key("notes.txt", "~$SWIFT_CODES.xlsx", "OTHER_BANKS.xlsx");
+        when(watchService.take()).thenReturn(others);
+        when(watchService.poll(200, TimeUnit.MILLISECONDS)).thenReturn(null);
+
+        assertThat(watcher.awaitChange(watchService)).isFalse();
+    }
+
+    @Test
+    void testDirectorySourceTakesEverySupportedFile() throws Exception {
+        configure(dir);
+        WatchKey notes = key("notes.txt");
+        WatchKey workbook = key("OTHER_BANKS.xlsx");
+        when(watchService.take()).thenReturn(notes);
+        when(watchService.poll(200, TimeUnit.MILLISECONDS)).thenReturn(workbook, null);
+
+        assertThat(watcher.awaitChange(watchService)).isTrue();
+    }
+
+    private void configure(Path source) throws Exception {
+        ReflectionTestUtils.setField(watcher, "sources", List.of(source.toString()));
+        ReflectionTestUtils.setField(watcher, "debounce", Duration.ofMillis(200));
+        assertThat(watcher.watchedDirectories()).containsExactly(dir.toAbsolutePath());
+    }
+
+    private WatchKey key(String... names) {
+        WatchKey key = mock(WatchKey.class);
+        when(key.watchable()).thenReturn(dir.toAbsolutePath());
+        doReturn(Arrays.stream(names).map(RegistryFileWatcherTest::modified).toList()).when(key).pollEvents();
+        return key;
+    }
+
+    private static WatchEvent<Path> modified(String name) {
+        return new WatchEvent<>() {
+            @Override
+            public Kind<Path> kind() {
+                return ENTRY_MODIFY;
+            }
+
+            @Override
+            public int count() {
+                return 1;
+            }
+
+            @Override
+            public Path context() {
+                return Path.of(name);
+            }
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package swiftcodes.service.app;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RegistryImportEngineTest {
+
+    private static final String HEADER = "COUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE";
+
+    @TempDir
+    Path dir;
+
+    private RegistryImportEngine engine;
+
+    @BeforeEach
+    public void setup() {
+        engine = new RegistryImportEngine();
+        ReflectionTestUtils.setField(engine, "excelStreamingReader", new ExcelStreamingReader());
+        ReflectionTestUtils.setField(engine, "csvRegistryReader", new CsvRegistryReader());
+        ReflectionTestUtils.setField(engine, "parallelism", 4);
+    }
+
+    @Test
+    void testReadDirectory_allSheetsAndCsvDeltas() throws Exception {
+        //One workbook per region, each with two sheets
+        writeWorkbook(dir.resolve("a-europe.xlsx"),
+                new String[][]{{"PL", "BREXPLPWXXX", "BIC11", "MBANK", "UL. PROSTA 18", "WARSZAWA", "POLAND", "Europe/Warsaw"}},
+                new String[][]{{"DE", "DEUTDEFFXXX", "BIC11", "DEUTSCHE BANK", "TAUNUSANLAGE 12", "FRANKFURT", "GERMANY", "Europe/Berlin"}});
+        writeWorkbook(dir.resolve("b-americas.xlsx"),
+                new String[][]{{"US", "CHASUS33XXX", "BIC11", "JPMORGAN CHASE", "NEW YORK", "NEW YORK", "UNITED STATES", "America/New_York"}});
+        //Delta: renames an existing bank (quoted, with a comma) and adds a branch
+        Files.writeString(dir.resolve("c-delta.csv"), HEADER + "\n"
+                + "PL,BREXPLPWXXX,BIC11,\"MBANK S.A., \"\"RETAIL\"\"\",UL. PROSTA 18,WARSZAWA,POLAND,Europe/Warsaw\n"
+                + "PL,BREXPLPW001,BIC11,MBANK,UL. KROLEWSKA 1,KRAKOW,POLAND,Europe/Warsaw\n");
+        Files.writeString(dir.resolve("notes.txt"), "ignored");
+
+        List<Resource> resources = engine.resolve(List.of(dir.toString()));
+        assertThat(resources).extracting(Resource::getFilename)
+                .containsExactly("a-europe.xlsx", "b-americas.xlsx", "c-delta.csv");
+
+        Map<String, SwiftCode> written = new LinkedHashMap<>();
+        List<Integer> chunkSizes = new ArrayList<>();
+        int count = engine.read(resources, 2, chunk -> {
+            chunkSizes.add(chunk.size());
+            chunk.forEach(code -> written.put(code.getSwiftCode(), code));
+            return chunk.size();
+        });
+
+        assertThat(count).isEqualTo(4);
+        assertThat(written).containsOnlyKeys("BREXPLPWXXX", "DEUTDEFFXXX", "CHASUS33XXX", "BREXPLPW001");
+        assertThat(chunkSizes).allMatch(size -> size <= 2);
+        //Later source wins
+        assertThat(written.get("BREXPLPWXXX").getBankName()).isEqualTo("MBANK S.A., \"RETAIL\"");
+        assertThat(written.get("BREXPLPWXXX").getIsHeadquarter()).isTrue();
+        assertThat(written.get("BREXPLPW001").getIsHeadquarter()).isFalse();
+    }
+
+    @Test
+    void testReadSingleCsv_dedupesRepeatedCodes() throws Exception {
+        Path csv = dir.resolve("registry.csv");
+        Files.writeString(csv, HEADER + "\n"
+                + "PL,BREXPLPWXXX,BIC11,OLD NAME,ADDR,TOWN,POLAND,Europe/Warsaw\n"
+                + "\n"
+                + "PL,BREXPLPWXXX,BIC11,NEW NAME,ADDR,TOWN,POLAND,Europe/Warsaw\n");
+
+        List<SwiftCode> written = new ArrayList<>();
+        int count = engine.read(engine.resolve(List.of(csv.toString())), 100, chunk -> {
+            written.addAll(chunk);
+            return chunk.size();
+        });
+
+        assertThat(count).isEqualTo(1);
+        assertThat(written).extracting(SwiftCode::getBankName).containsExactly("NEW NAME");
+    }
+
+    @Test
+    void testRead_countsRowsWithoutValidCode() throws Exception {
+        writeWorkbook(dir.resolve("a-europe.xlsx"),
+                new String[][]{{"PL", "BREXPLPWXXX", "BIC11", "MBANK", "UL. PROSTA 18", "WARSZAWA", "POLAND", "Europe/Warsaw"},
+                        {"PL", "BREX-PLPW", "BIC11", "MBANK", "UL. PROSTA 18", "WARSZAWA", "POLAND", "Europe/Warsaw"}});
+        Files.writeString(dir.resolve("b-delta.csv"), HEADER + "\n"
+                + "PL,,BIC11,NO CODE,ADDR,TOWN,POLAND,Europe/Warsaw\n"
+                + "PL,BREXPLPW001,BIC11,MBANK,UL. KROLEWSKA 1,KRAKOW,POLAND,Europe/Warsaw\n");
+
+        AtomicInteger skipped = new AtomicInteger();
+        int count = engine.read(engine.resolve(List.of(dir.toString())), 100, chunk -> chunk.size(), skipped);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(skipped).hasValue(2);
+    }
+
+    @Test
+    void testResolve_missingSource() {
+        assertThrows(IOException.class, () -> engine.resolve(List.of(dir.resolve("missing.xlsx").toString())));
+    }
+
+    private static void writeWorkbook(Path file, String[][]... sheets) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            for (String[][] rows : sheets) {
+                Sheet sheet = workbook.createSheet();
+                writeRow(sheet.createRow(0), HEADER.split(","));
+                for (int i = 0; i < rows.length; i++) {
+                    writeRow(sheet.createRow(i + 1), rows[i]);
+                }
+            }
+            workbook.write(out);
+        }
+    }
+
+    private static void writeRow(Row row, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+}
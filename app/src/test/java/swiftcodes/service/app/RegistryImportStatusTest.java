@@ -0,0 +1,56 @@
+package swiftcodes.service.app;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistryImportStatusTest {
+
+    @Test
+    void testOutOfServiceUntilFirstImportCommits() {
+        RegistryImportStatus status = new RegistryImportStatus();
+        assertThat(status.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        assertThat(status.start()).isTrue();
+        assertThat(status.start()).isFalse(); //Only one import at a time
+        status.progress(1000);
+        status.progress(500);
+        Health running = status.health();
+        assertThat(running.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(running.getDetails()).containsEntry("state", RegistryImportStatus.State.RUNNING)
+                .containsEntry("rowsWritten", 1500L);
+
+        status.finished("imported");
+        assertThat(status.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(status.isLoaded()).isTrue();
+    }
+
+    @Test
+    void testFailedFirstImportIsDown() {
+        RegistryImportStatus status = new RegistryImportStatus();
+        status.start();
+        status.failed(new IllegalStateException("Registry source not found"));
+
+        Health health = status.health();
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsEntry("error", "IllegalStateException");
+        assertThat(health.getDetails().values()).doesNotContain("Registry source not found");
+    }
+
+    @Test
+    void testRefreshKeepsServingPreviousRegistry() {
+        RegistryImportStatus status = new RegistryImportStatus();
+        status.start();
+        status.finished("imported");
+
+        //A running or failed refresh leaves the committed registry in place
+        assertThat(status.start()).isTrue();
+        assertThat(status.health().getStatus()).isEqualTo(Status.UP);
+        status.failed(new IllegalStateException("bad delta"));
+        Health health = status.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("lastOutcome", "failed");
+    }
+}
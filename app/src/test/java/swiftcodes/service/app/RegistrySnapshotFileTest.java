@@ -0,0 +1,114 @@
+package swiftcodes.service.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistrySnapshotFileTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private RegistrySnapshotFile snapshotFile;
+
+    @BeforeEach
+    public void setup() {
+        file = dir.resolve("registry.snapshot");
+        snapshotFile = new RegistrySnapshotFile();
+        ReflectionTestUtils.setField(snapshotFile, "path", file.toString());
+    }
+
+    @Test
+    void testWriteAndRead_replaysChunks() throws Exception {
+        write(HASH,
+                List.of(code("BREXPLPWXXX", "MBANK", "UL. PROSTA 18", "PL", "POLAND"),
+                        code("BREXPLPW001", "MBANK", "UL. KRÓLEWSKA 1", "PL", "POLAND")),
+                List.of(code("CHASUS33XXX", "JPMORGAN CHASE", null, "US", "UNITED STATES")));
+
+        List<List<SwiftCode>> chunks = new ArrayList<>();
+        int written = snapshotFile.read(HASH, chunk -> {
+            chunks.add(List.copyOf(chunk));
+            return chunk.size();
+        });
+
+        //Same chunks in the same order, every field and the derived institution code restored
+        assertThat(written).isEqualTo(3);
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).extracting(SwiftCode::getSwiftCode).containsExactly("BREXPLPWXXX", "BREXPLPW001");
+        SwiftCode branch = chunks.get(0).get(1);
+        assertThat(branch.getBankName()).isEqualTo("MBANK");
+        assertThat(branch.getAddress()).isEqualTo("UL. KRÓLEWSKA 1");
+        assertThat(branch.getCountryISO2()).isEqualTo("PL");
+        assertThat(branch.getCountryName()).isEqualTo("POLAND");
+        assertThat(branch.getIsHeadquarter()).isFalse();
+        assertThat(branch.getInstitutionCode()).isEqualTo("BREXPLPW");
+        assertThat(chunks.get(1).get(0).getAddress()).isNull();
+        assertThat(chunks.get(1).get(0).getIsHeadquarter()).isTrue();
+    }
+
+    @Test
+    void testRead_otherSourcesOrMissingFile() throws Exception {
+        assertThat(snapshotFile.matches(HASH)).isFalse();
+
+        write(HASH, List.of(code("BREXPLPWXXX", "MBANK", "UL. PROSTA 18", "PL", "POLAND")));
+        assertThat(snapshotFile.matches(HASH)).isTrue();
+        assertThat(snapshotFile.matches("cd".repeat(32))).isFalse();
+        assertThat(snapshotFile.read("cd".repeat(32), chunk -> chunk.size())).isEqualTo(-1);
+    }
+
+    @Test
+    void testRead_corruptFileIsIgnored() throws Exception {
+        write(HASH, List.of(code("BREXPLPWXXX", "MBANK", "UL. PROSTA 18", "PL", "POLAND")));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThat(snapshotFile.matches(HASH)).isFalse();
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThat(snapshotFile.matches(HASH)).isFalse();
+    }
+
+    @Test
+    void testUncommittedWriterLeavesNoFile() throws Exception {
+        try (RegistrySnapshotFile.Writer writer = snapshotFile.writer(HASH)) {
+            writer.append(List.of(code("BREXPLPWXXX", "MBANK", "UL. PROSTA 18", "PL", "POLAND")));
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @SafeVarargs
+    private void write(String hash, List<SwiftCode>... chunks) {
+        try (RegistrySnapshotFile.Writer writer = snapshotFile.writer(hash)) {
+            for (List<SwiftCode> chunk : chunks) {
+                writer.append(chunk);
+            }
+            writer.commit();
+        }
+    }
+
+    private static SwiftCode code(String swiftCode, String bankName, String address, String iso2, String countryName) {
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode(swiftCode);
+        code.setBankName(bankName);
+        code.setAddress(address);
+        code.setCountryISO2(iso2);
+        code.setCountryName(countryName);
+        code.setIsHeadquarter(swiftCode.endsWith("XXX"));
+        return code;
+    }
+}
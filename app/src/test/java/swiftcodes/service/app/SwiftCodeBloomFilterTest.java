@@ -0,0 +1,84 @@
+package swiftcodes.service.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SwiftCodeBloomFilterTest {
+
+    private SwiftCodeBatchWriter swiftCodeBatchWriter;
+    private SwiftCodeBloomFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        swiftCodeBatchWriter = mock(SwiftCodeBatchWriter.class);
+        filter = new SwiftCodeBloomFilter();
+        ReflectionTestUtils.setField(filter, "swiftCodeBatchWriter", swiftCodeBatchWriter);
+        ReflectionTestUtils.setField(filter, "fpp", 0.01);
+        ReflectionTestUtils.setField(filter, "headroom", 1.5);
+    }
+
+    @Test
+    void testNothingRejectedBeforeFirstBuild() {
+        assertThat(filter.mightContain("BREXPLPWXXX")).isTrue();
+        assertThat(filter.mightContain("NOBANKXXXXX")).isTrue();
+    }
+
+    @Test
+    void testRebuild_rejectsUnknownCodes() {
+        when(swiftCodeBatchWriter.findAllCodes()).thenReturn(List.of("BREXPLPWXXX", "BREXPLPW001"));
+
+        filter.onRegistryReloaded(new RegistryReloadedEvent(true, 2));
+
+        assertThat(filter.mightContain("BREXPLPWXXX")).isTrue();
+        assertThat(filter.mightContain("BREXPLPW001")).isTrue();
+        assertThat(filter.mightContain("NOBANKXXXXX")).isFalse();
+
+        filter.add(List.of("NOBANKXXXXX"));
+        assertThat(filter.mightContain("NOBANKXXXXX")).isTrue();
+    }
+
+    @Test
+    void testCodesAddedDuringRebuildAreKept() {
+        //A code committed after the table was read must still be in the published filter
+        when(swiftCodeBatchWriter.findAllCodes()).thenAnswer(invocation -> {
+            filter.add(List.of("LATEPLPWXXX"));
+            return List.of("BREXPLPWXXX");
+        });
+
+        filter.rebuild();
+
+        assertThat(filter.mightContain("BREXPLPWXXX")).isTrue();
+        assertThat(filter.mightContain("LATEPLPWXXX")).isTrue();
+    }
+
+    @Test
+    void testCodesOfOpenTransactionsAreReplayed() {
+        //Added before the rebuild starts, committed only after it has read the table
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            filter.add(List.of("OPENPLPWXXX"));
+            when(swiftCodeBatchWriter.findAllCodes()).thenReturn(List.of("BREXPLPWXXX"));
+
+            filter.rebuild();
+            assertThat(filter.mightContain("OPENPLPWXXX")).isTrue();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        //Once the transaction ended the table is the only source again
+        when(swiftCodeBatchWriter.findAllCodes()).thenReturn(List.of("BREXPLPWXXX"));
+        filter.rebuild();
+        assertThat(filter.mightContain("OPENPLPWXXX")).isFalse();
+    }
+}
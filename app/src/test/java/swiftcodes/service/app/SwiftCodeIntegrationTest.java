@@ -2,6 +2,8 @@ package swiftcodes.service.app;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -35,4 +37,104 @@ class SwiftCodeIntegrationTest {
         assertThat(retrieved.getBankName()).isEqualTo("Integration Bank");
         assertThat(retrieved.getAddress()).isEqualTo("456 Integration Ave");
     }
+
+    @Test
+    void testListingsAreReadAsProjections() {
+        SwiftCode headquarter = new SwiftCode();
+        headquarter.setSwiftCode("PRJTDEFFXXX");
+        headquarter.setBankName("Projection Bank");
+        headquarter.setAddress("1 Projection St");
+        headquarter.setCountryISO2("DE");
+        headquarter.setCountryName("Germany");
+        headquarter.setIsHeadquarter(true);
+        swiftCodeService.addSwiftCode(headquarter);
+
+        SwiftCode branch = new SwiftCode();
+        branch.setSwiftCode("PRJTDEFF001");
+        branch.setBankName("Projection Bank");
+        branch.setAddress("2 Projection St");
+        branch.setCountryISO2("DE");
+        branch.setCountryName("Germany");
+        branch.setIsHeadquarter(false);
+        swiftCodeService.addSwiftCode(branch);
+
+        List<SwiftCodeView> branches = swiftCodeService.getBranchesForHeadquarter("PRJTDEFFXXX");
+        assertThat(branches).containsExactly(
+                new SwiftCodeView("PRJTDEFF001", "Projection Bank", "2 Projection St", "DE", "Germany", false));
+
+        assertThat(swiftCodeService.getSwiftCodesByCountryPage("DE", "PRJTDEFF001", 10))
+                .extracting(SwiftCodeView::swiftCode).contains("PRJTDEFFXXX").doesNotContain("PRJTDEFF001");
+    }
+
+    @Test
+    void testCountrySummaryFollowsAddAndDelete() {
+        SwiftCode headquarter = new SwiftCode();
+        headquarter.setSwiftCode("SUMMQQAAXXX");
+        headquarter.setBankName("Summary Bank");
+        headquarter.setAddress("1 Summary St");
+        headquarter.setCountryISO2("QQ");
+        headquarter.setCountryName("Summaryland");
+        headquarter.setIsHeadquarter(true);
+        swiftCodeService.addSwiftCode(headquarter);
+
+        SwiftCode branch = new SwiftCode();
+        branch.setSwiftCode("SUMMQQAA001");
+        branch.setBankName("Summary Bank");
+        branch.setAddress("2 Summary St");
+        branch.setCountryISO2("QQ");
+        branch.setCountryName("Summaryland");
+        branch.setIsHeadquarter(false);
+        swiftCodeService.addSwiftCode(branch);
+
+        assertThat(summary("QQ")).isNotNull();
+        assertThat(summary("QQ").getTotal()).isEqualTo(2);
+        assertThat(summary("QQ").getHeadquarters()).isEqualTo(1);
+        assertThat(summary("QQ").getBranches()).isEqualTo(1);
+
+        swiftCodeService.deleteSwiftCode("SUMMQQAA001");
+        assertThat(summary("QQ").getBranches()).isZero();
+
+        //The last code of a country removes its summary
+        swiftCodeService.deleteSwiftCode("SUMMQQAAXXX");
+        assertThat(summary("QQ")).isNull();
+    }
+
+    private CountrySummary summary(String countryISO2) {
+        return swiftCodeService.getCountrySummaries().stream()
+                .filter(summary -> summary.getCountryISO2().equals(countryISO2))
+                .findFirst().orElse(null);
+    }
+
+    @Test
+    void testChangeLogRecordsAddAndDelete() {
+        long since = swiftCodeService.getChangesSince(0, Integer.MAX_VALUE).stream()
+                .mapToLong(SwiftCodeChange::getSeq).max().orElse(0);
+
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode("CHNGPLPWXXX");
+        code.setBankName("Change Bank");
+        code.setAddress("1 Change St");
+        code.setCountryISO2("PL");
+        code.setCountryName("Poland");
+        code.setIsHeadquarter(true);
+        swiftCodeService.addSwiftCode(code);
+        swiftCodeService.deleteSwiftCode("CHNGPLPWXXX");
+
+        List<SwiftCodeChange> changes = swiftCodeService.getChangesSince(since, 10);
+        assertThat(changes).extracting(SwiftCodeChange::getOperation)
+                .containsExactly(SwiftCodeChange.Operation.UPSERT, SwiftCodeChange.Operation.DELETE);
+        assertThat(changes).extracting(SwiftCodeChange::getSwiftCode).containsOnly("CHNGPLPWXXX");
+        assertThat(changes).extracting(SwiftCodeChange::getCountryISO2).containsOnly("PL");
+        assertThat(changes.get(1).getSeq()).isGreaterThan(changes.get(0).getSeq());
+
+        //The batch delete logs the country it removed, the row is gone by then
+        code.setSwiftCode("CHNGPLPW001");
+        code.setIsHeadquarter(false);
+        swiftCodeService.addSwiftCode(code);
+        swiftCodeService.deleteSwiftCodes(List.of("CHNGPLPW001"));
+        List<SwiftCodeChange> batchChanges = swiftCodeService.getChangesSince(changes.get(1).getSeq(), 10);
+        assertThat(batchChanges).extracting(SwiftCodeChange::getOperation)
+                .containsExactly(SwiftCodeChange.Operation.UPSERT, SwiftCodeChange.Operation.DELETE);
+        assertThat(batchChanges).extracting(SwiftCodeChange::getCountryISO2).containsOnly("PL");
+    }
 }
@@ -0,0 +1,59 @@
+package swiftcodes.service.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwiftCodeResponseCacheTest {
+
+    private SwiftCodeResponseCache cache;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    public void setup() {
+        cache = new SwiftCodeResponseCache(100);
+        renders = new AtomicInteger();
+    }
+
+    @Test
+    void testBranchChangeDropsHeadquarterUnderBothKeys() {
+        render("BREXPLPWXXX");
+        render("BREXPLPW");
+        render("BREXPLPW001");
+        render("DEUTDEFFXXX");
+        assertThat(renders).hasValue(4);
+
+        //A new branch must show up in the HQ response; the 8-character form of the institution is dropped as well
+        cache.onSwiftCodeChanged(new SwiftCodeChangedEvent("BREXPLPW002", "PL", null));
+        render("BREXPLPWXXX");
+        render("BREXPLPW");
+        assertThat(renders).hasValue(6);
+
+        //Other institutions and other branches stay cached
+        render("BREXPLPW001");
+        render("DEUTDEFFXXX");
+        assertThat(renders).hasValue(6);
+    }
+
+    @Test
+    void testBic8ChangeDropsHeadquarter() {
+        render("brexplpwxxx");
+        render("BREXPLPW");
+
+        cache.onSwiftCodeChanged(new SwiftCodeChangedEvent("brexplpw", "PL", null));
+        render("BREXPLPWXXX");
+        render("BREXPLPW");
+        assertThat(renders).hasValue(4);
+    }
+
+    private void render(String swiftCode) {
+        cache.get(swiftCode, () -> {
+            renders.incrementAndGet();
+            return swiftCode.getBytes(StandardCharsets.UTF_8);
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package swiftcodes.service.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SwiftCodeSearchIndexTest {
+
+    @Mock
+    private SwiftCodeRepository swiftCodeRepository;
+
+    @InjectMocks
+    private SwiftCodeSearchIndex searchIndex;
+
+    private final List<SwiftCode> registry = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(searchIndex, "minSimilarity", 0.3);
+        registry.add(code("BREXPLPWXXX", "MBANK S.A.", "UL. PROSTA 18 WARSZAWA", true));
+        registry.add(code("BREXPLPWKRK", "MBANK S.A.", "UL. KROLEWSKA 1 KRAKOW", false));
+        registry.add(code("PKOPPLPWXXX", "PKO BANK POLSKI S.A.", "UL. PULAWSKA 15 WARSZAWA", true));
+        registry.add(code("DEUTDEFFXXX", "DEUTSCHE BANK AG", "TAUNUSANLAGE 12 FRANKFURT AM MAIN", true));
+        when(swiftCodeRepository.findAll()).thenReturn(registry);
+        searchIndex.onRegistryReloaded(new RegistryReloadedEvent(true, registry.size()));
+    }
+
+    @Test
+    void testSearchByPartialBankName() {
+        //Full matches first, other banks only share "BANK" trigrams and rank below
+        List<SwiftCodeSearchIndex.Hit> hits = searchIndex.search("mbank", 10);
+        assertThat(hits.subList(0, 2)).extracting(hit -> hit.code().getSwiftCode())
+                .containsExactlyInAnyOrder("BREXPLPWXXX", "BREXPLPWKRK");
+        assertThat(hits.get(0).score()).isEqualTo(1.0);
+        assertThat(hits).skip(2).allMatch(hit -> hit.score() < 1.0);
+    }
+
+    @Test
+    void testSearchToleratesTypos() {
+        //City with a typo and a mistyped code
+        assertThat(searchIndex.search("Krakwo", 10)).first()
+                .extracting(hit -> hit.code().getSwiftCode()).isEqualTo("BREXPLPWKRK");
+        assertThat(searchIndex.search("DEUTDEFXXX", 10)).first()
+                .extracting(hit -> hit.code().getSwiftCode()).isEqualTo("DEUTDEFFXXX");
+    }
+
+    @Test
+    void testCodePrefixRanksFirstAndLimitApplies() {
+        List<SwiftCodeSearchIndex.Hit> hits = searchIndex.search("BREXPLPW", 1);
+        assertThat(hits).hasSize(1);
+        assertThat(hits.getFirst().code().getSwiftCode()).startsWith("BREXPLPW");
+        assertThat(hits.getFirst().score()).isGreaterThan(1.0);
+        assertThat(searchIndex.search("zzzzqqqq", 10)).isEmpty();
+    }
+
+    @Test
+    void testChangesAppliedWithoutRebuild() {
+        SwiftCode added = code("MBANPLPWXXX", "MBANK HIPOTECZNY S.A.", "UL. PROSTA 18 WARSZAWA", true);
+        searchIndex.onSwiftCodeChanged(new SwiftCodeChangedEvent("MBANPLPWXXX", "PL", added));
+        assertThat(searchIndex.search("hipoteczny", 10)).extracting(hit -> hit.code().getSwiftCode())
+                .containsExactly("MBANPLPWXXX");
+
+        //Deleted codes carry no row and are hidden from the built index
+        searchIndex.onSwiftCodeChanged(new SwiftCodeChangedEvent("BREXPLPWKRK", "PL", null));
+        assertThat(searchIndex.search("Krakow", 10)).extracting(hit -> hit.code().getSwiftCode())
+                .doesNotContain("BREXPLPWKRK");
+        //The event carries the row, nothing is read back
+        verify(swiftCodeRepository, times(1)).findAll();
+        verify(swiftCodeRepository, never()).findBySwiftCode(anyString());
+    }
+
+    @Test
+    void testChangesDuringRebuildAreReplayed() {
+        SwiftCode added = code("MBANPLPWXXX", "MBANK HIPOTECZNY S.A.", "UL. PROSTA 18 WARSZAWA", true);
+        //The change commits after the rebuild has read the registry, so findAll does not return it
+        when(swiftCodeRepository.findAll()).thenAnswer(invocation -> {
+            searchIndex.onSwiftCodeChanged(new SwiftCodeChangedEvent("MBANPLPWXXX", "PL", added));
+            return registry;
+        });
+
+        searchIndex.rebuild();
+        assertThat(searchIndex.search("hipoteczny", 10)).extracting(hit -> hit.code().getSwiftCode())
+                .containsExactly("MBANPLPWXXX");
+    }
+
+    private static SwiftCode code(String swiftCode, String bankName, String address, boolean headquarter) {
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode(swiftCode);
+        code.setBankName(bankName);
+        code.setAddress(address);
+        code.setCountryISO2(swiftCode.substring(4, 6));
+        code.setCountryName("COUNTRY " + swiftCode.substring(4, 6));
+        code.setIsHeadquarter(headquarter);
+        return code;
+    }
+}
@@ -2,15 +2,23 @@ package swiftcodes.service.app;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.TestPropertySource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -23,6 +31,25 @@ class SwiftCodeServiceTest {
     @Mock
     private SwiftCodeRepository swiftCodeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CountrySummaryWriter countrySummaryWriter;
+
+    @Mock
+    private SwiftCodeChangeLog swiftCodeChangeLog;
+
+    @Mock
+    private SwiftCodeBatchWriter swiftCodeBatchWriter;
+
+    //Never built here, so every code "might exist"
+    @Spy
+    private SwiftCodeBloomFilter swiftCodeBloomFilter = new SwiftCodeBloomFilter();
+
+    @Spy
+    private SwiftCodeCache swiftCodeCache = new SwiftCodeCache(100, 10, Duration.ofMinutes(1));
+
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
@@ -48,17 +75,13 @@ class SwiftCodeServiceTest {
 
     @Test
     void testGetBranchesForHeadquarter() {
-        SwiftCode branch1 = new SwiftCode();
-        branch1.setSwiftCode("HQSWFT01001");
-        branch1.setIsHeadquarter(false);
-        SwiftCode branch2 = new SwiftCode();
-        branch2.setSwiftCode("HQSWFT01002");
-        branch2.setIsHeadquarter(false);
-        List<SwiftCode> branches = Arrays.asList(branch1, branch2);
+        SwiftCodeView branch1 = new SwiftCodeView("HQSWFT01001", null, null, null, null, false);
+        SwiftCodeView branch2 = new SwiftCodeView("HQSWFT01002", null, null, null, null, false);
+        List<SwiftCodeView> branches = Arrays.asList(branch1, branch2);
 
-        when(swiftCodeRepository.findBySwiftCodeStartingWithAndIsHeadquarterFalse("HQSWFT01")).thenReturn(branches);
+        when(swiftCodeRepository.findBranchViewsByInstitutionCode("HQSWFT01")).thenReturn(branches);
 
-        List<SwiftCode> result = swiftCodeService.getBranchesForHeadquarter("HQSWFT01XXX");
+        List<SwiftCodeView> result = swiftCodeService.getBranchesForHeadquarter("HQSWFT01XXX");
         assertThat(result).hasSize(2);
     }
 
@@ -111,22 +134,125 @@ class SwiftCodeServiceTest {
         String hqSwift = "ABCDEFGHXXX";
         String prefix = hqSwift.substring(0, 8);
 
-        SwiftCode branch1 = new SwiftCode();
-        branch1.setSwiftCode(prefix + "BRANCH1");
-        branch1.setIsHeadquarter(false);
+        SwiftCodeView branch1 = new SwiftCodeView(prefix + "BRANCH1", null, null, null, null, false);
+        SwiftCodeView branch2 = new SwiftCodeView(prefix + "BRANCH2", null, null, null, null, false);
 
-        SwiftCode branch2 = new SwiftCode();
-        branch2.setSwiftCode(prefix + "BRANCH2");
-        branch2.setIsHeadquarter(false);
-
-        List<SwiftCode> branches = Arrays.asList(branch1, branch2);
-        when(swiftCodeRepository.findBySwiftCodeStartingWithAndIsHeadquarterFalse(prefix))
+        List<SwiftCodeView> branches = Arrays.asList(branch1, branch2);
+        when(swiftCodeRepository.findBranchViewsByInstitutionCode(prefix))
                 .thenReturn(branches);
 
-        List<SwiftCode> result = swiftCodeService.getBranchesForHeadquarter(hqSwift);
+        List<SwiftCodeView> result = swiftCodeService.getBranchesForHeadquarter(hqSwift);
 
         assertThat(result).hasSize(2);
-        assertThat(result.get(0).getSwiftCode()).contains(prefix);
-        assertThat(result.get(1).getSwiftCode()).contains(prefix);
+        assertThat(result.get(0).swiftCode()).contains(prefix);
+        assertThat(result.get(1).swiftCode()).contains(prefix);
+    }
+
+    @Test
+    void testGetSwiftCodeDetails_servedFromCache() {
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode("CACHEDHQXXX");
+        when(swiftCodeRepository.findBySwiftCode("CACHEDHQXXX")).thenReturn(code);
+
+        swiftCodeService.getSwiftCodeDetails("CACHEDHQXXX");
+        SwiftCode found = swiftCodeService.getSwiftCodeDetails("cachedhqxxx");
+
+        //Second lookup (any case) must not reach the repository
+        assertThat(found).isSameAs(code);
+        verify(swiftCodeRepository, times(1)).findBySwiftCode("CACHEDHQXXX");
+    }
+
+    @Test
+    void testAddSwiftCode_invalidatesCachedMiss() {
+        when(swiftCodeRepository.findBySwiftCode("NEWCODE1XXX")).thenReturn(null);
+        assertThat(swiftCodeService.getSwiftCodeDetails("NEWCODE1XXX")).isNull();
+
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode("NEWCODE1XXX");
+        code.setCountryISO2("PL");
+        code.setCountryName("POLAND");
+        swiftCodeService.addSwiftCode(code);
+
+        when(swiftCodeRepository.findBySwiftCode("NEWCODE1XXX")).thenReturn(code);
+        assertThat(swiftCodeService.getSwiftCodeDetails("NEWCODE1XXX")).isSameAs(code);
+        verify(eventPublisher).publishEvent(new SwiftCodeChangedEvent("NEWCODE1XXX", "PL", code));
+    }
+
+    @Test
+    void testAddAndDeleteSwiftCode_updateSummaryAndChangeLog() {
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode("SUMMPLPWXXX");
+        code.setCountryISO2("PL");
+        code.setCountryName("POLAND");
+        code.setIsHeadquarter(true);
+
+        swiftCodeService.addSwiftCode(code);
+        verify(countrySummaryWriter).added(List.of(code));
+        verify(swiftCodeChangeLog).upserted(List.of("SUMMPLPWXXX"));
+
+        when(swiftCodeRepository.findBySwiftCode("SUMMPLPWXXX")).thenReturn(code);
+        swiftCodeService.deleteSwiftCode("SUMMPLPWXXX");
+        verify(countrySummaryWriter).removed(List.of(code));
+        //Logged after the row is gone, so the change log lock is never held while waiting for the row
+        InOrder order = inOrder(swiftCodeRepository, swiftCodeChangeLog);
+        order.verify(swiftCodeRepository).flush();
+        order.verify(swiftCodeChangeLog).deleted(List.of(code));
+    }
+
+    @Test
+    void testDeleteSwiftCode_normalizesCode() {
+        SwiftCode code = new SwiftCode();
+        code.setSwiftCode("ABCDUS33XXX");
+        code.setCountryISO2("US");
+        when(swiftCodeRepository.findBySwiftCode("ABCDUS33XXX")).thenReturn(code);
+
+        swiftCodeService.deleteSwiftCode(" abcdus33xxx ");
+
+        verify(swiftCodeRepository).deleteBySwiftCode("ABCDUS33XXX");
+        verify(eventPublisher).publishEvent(new SwiftCodeChangedEvent("ABCDUS33XXX", "US", null));
+    }
+
+    @Test
+    void testAddSwiftCodes_concurrentInsertIsDuplicate() {
+        SwiftCode kept = new SwiftCode();
+        kept.setSwiftCode("KEPTPLPWXXX");
+        kept.setCountryISO2("PL");
+        kept.setCountryName("POLAND");
+        SwiftCode raced = new SwiftCode();
+        raced.setSwiftCode("RACEPLPWXXX");
+        raced.setCountryISO2("PL");
+        raced.setCountryName("POLAND");
+        when(swiftCodeBatchWriter.findExisting(anyList())).thenReturn(Set.of());
+        //Inserted by another transaction after findExisting, so ON CONFLICT DO NOTHING skipped it
+        when(swiftCodeBatchWriter.insert(anyList())).thenReturn(Set.of("KEPTPLPWXXX"));
+
+        Map<String, SwiftCodeService.BatchStatus> results = swiftCodeService.addSwiftCodes(List.of(kept, raced));
+
+        assertThat(results).containsEntry("KEPTPLPWXXX", SwiftCodeService.BatchStatus.CREATED)
+                .containsEntry("RACEPLPWXXX", SwiftCodeService.BatchStatus.DUPLICATE);
+        verify(countrySummaryWriter).added(List.of(kept));
+        verify(swiftCodeChangeLog).upserted(List.of("KEPTPLPWXXX"));
+        verify(eventPublisher, never()).publishEvent(new SwiftCodeChangedEvent("RACEPLPWXXX", "PL", raced));
+    }
+
+    @Test
+    void testDeleteSwiftCodes_usesReturnedRows() {
+        SwiftCode deleted = new SwiftCode();
+        deleted.setSwiftCode("GONEPLPWXXX");
+        deleted.setCountryISO2("PL");
+        deleted.setIsHeadquarter(true);
+        when(swiftCodeBatchWriter.deleteReturning(anyCollection())).thenReturn(List.of(deleted));
+
+        Map<String, SwiftCodeService.BatchStatus> results =
+                swiftCodeService.deleteSwiftCodes(List.of("goneplpwxxx", "MISSPLPWXXX"));
+
+        assertThat(results).containsEntry("GONEPLPWXXX", SwiftCodeService.BatchStatus.DELETED)
+                .containsEntry("MISSPLPWXXX", SwiftCodeService.BatchStatus.NOT_FOUND);
+        verify(swiftCodeRepository, never()).findBySwiftCodeIn(anyList());
+        verify(countrySummaryWriter).removed(List.of(deleted));
+        InOrder order = inOrder(swiftCodeBatchWriter, swiftCodeChangeLog);
+        order.verify(swiftCodeBatchWriter).deleteReturning(anyCollection());
+        order.verify(swiftCodeChangeLog).deleted(List.of(deleted));
+        verify(eventPublisher).publishEvent(new SwiftCodeChangedEvent("GONEPLPWXXX", "PL", null));
     }
 }